@@ -0,0 +1,68 @@
+package com.example.mostin.benchmarks;
+
+import com.example.mostin.dto.ClockInRequest;
+import com.example.mostin.models.Commute;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialize + validate cost of one clock-in body: the old Map&lt;String, String&gt; path
+ * against the typed {@link ClockInRequest} record. Run with {@code ./gradlew jmh}; add
+ * {@code profilers = ['gc']} to the jmh block in build.gradle to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClockInPayloadBenchmark {
+
+    private static final byte[] BODY = ("{\"employeeId\":\"EMP001\",\"employeeName\":\"김테스트\"," +
+            "\"workPlaceName\":\"강남점\",\"commuteDay\":\"2024-01-15\",\"startTime\":\"08:55\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader mapReader;
+    private ObjectReader recordReader;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        mapReader = objectMapper.readerFor(new TypeReference<Map<String, String>>() {});
+        recordReader = objectMapper.readerFor(ClockInRequest.class);
+    }
+
+    @Benchmark
+    public Commute mapPayload() throws IOException {
+        Map<String, String> payload = mapReader.readValue(BODY);
+        Commute commute = new Commute();
+        commute.setEmployeeId(payload.get("employeeId"));
+        commute.setEmployeeName(payload.get("employeeName"));
+        commute.setWorkPlaceName(payload.get("workPlaceName"));
+        commute.setCommuteDay(LocalDate.parse(payload.get("commuteDay")));
+        commute.setStartTime(LocalTime.parse(payload.get("startTime")));
+        return commute;
+    }
+
+    @Benchmark
+    public Commute typedRequest() throws IOException {
+        ClockInRequest request = recordReader.readValue(BODY);
+        if (request.validationError() != null) {
+            throw new IllegalStateException(request.validationError());
+        }
+        return request.toCommute();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.mostin.benchmarks;
+
+import com.example.mostin.models.WorkPlace;
+import com.example.mostin.services.WorkPlaceSpatialIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest-k workplaces: the grid index against a linear haversine scan, with sites spread over the
+ * peninsula. Queries cycle through a fixed set of random points so both paths see the same inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NearestWorkPlaceBenchmark {
+
+    @Param({"10000", "50000"})
+    public int sites;
+
+    @Param({"1", "10"})
+    public int k;
+
+    private List<WorkPlace> workPlaces;
+    private WorkPlaceSpatialIndex index;
+    private double[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        workPlaces = new ArrayList<>(sites);
+        for (int i = 0; i < sites; i++) {
+            WorkPlace workPlace = new WorkPlace();
+            workPlace.setWorkPlaceName("site-" + i);
+            workPlace.setLatitude(33.0 + random.nextDouble() * 5.5);
+            workPlace.setLongitude(125.0 + random.nextDouble() * 4.5);
+            workPlaces.add(workPlace);
+        }
+        index = WorkPlaceSpatialIndex.build(workPlaces);
+        queries = new double[1024][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new double[]{33.0 + random.nextDouble() * 5.5, 125.0 + random.nextDouble() * 4.5};
+        }
+    }
+
+    @Benchmark
+    public List<WorkPlaceSpatialIndex.Neighbor> gridIndex() {
+        double[] query = nextQuery();
+        return index.nearest(query[0], query[1], k);
+    }
+
+    @Benchmark
+    public List<WorkPlaceSpatialIndex.Neighbor> linearScan() {
+        double[] query = nextQuery();
+        return WorkPlaceSpatialIndex.nearestByScan(workPlaces, query[0], query[1], k);
+    }
+
+    private double[] nextQuery() {
+        next = (next + 1) & (queries.length - 1);
+        return queries[next];
+    }
+}
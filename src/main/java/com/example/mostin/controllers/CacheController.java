@@ -0,0 +1,21 @@
+package com.example.mostin.controllers;
+
+import com.example.mostin.services.HibernateCacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private HibernateCacheStats hibernateCacheStats;
+
+    // 2차 캐시/쿼리 캐시 적중률과 누적 SQL 실행 수
+    @GetMapping("/hibernate")
+    public HibernateCacheStats.Snapshot getHibernateCacheStats() {
+        return hibernateCacheStats.snapshot();
+    }
+}
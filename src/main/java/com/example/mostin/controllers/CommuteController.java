@@ -1,55 +1,194 @@
 package com.example.mostin.controllers;
 
+import com.example.mostin.dto.ClockInRequest;
+import com.example.mostin.dto.ClockOutRequest;
+import com.example.mostin.dto.EmployeeView;
 import com.example.mostin.models.Commute;
 import com.example.mostin.repositories.CommuteRepository;
+import com.example.mostin.services.AttendanceBoard;
+import com.example.mostin.services.CommuteSummaryService;
+import com.example.mostin.services.CommuteWriteBehind;
+import com.example.mostin.services.EmployeeCache;
+import com.example.mostin.services.IdempotencyCache;
+import com.example.mostin.services.LastCommuteCache;
+import com.example.mostin.services.ResponseStreamer;
+import com.example.mostin.services.WorkPlaceLocator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.time.YearMonth;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
 
 @RestController
 @RequestMapping("/api/commute")
 public class CommuteController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final List<String> EXPORT_COLUMNS =
+            List.of("commuteDay", "employeeId", "employeeName", "workPlaceName", "startTime", "endTime");
+
     @Autowired
     private CommuteRepository commuteRepository;
 
+    // mostin.commute.write-behind.enabled=true 일 때만 존재
+    @Autowired(required = false)
+    private CommuteWriteBehind commuteWriteBehind;
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired
+    private AttendanceBoard attendanceBoard;
+
+    @Autowired
+    private CommuteSummaryService commuteSummaryService;
+
+    @Autowired
+    private ResponseStreamer responseStreamer;
+
+    @Autowired
+    private LastCommuteCache lastCommuteCache;
+
+    @Autowired
+    private WorkPlaceLocator workPlaceLocator;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    // 날짜/시간은 Jackson이 바로 바인딩, 필수값 누락은 DB 조회 전에 400
+    // 재시도 요청은 Idempotency-Key (없으면 요청 본문) 기준으로 이전 응답을 그대로 반환
+    // 키는 직원별로 구분하고, 같은 키에 본문이 다르면 재시도가 아니므로 422
     @PostMapping("/clock-in")
-    public Commute clockIn(@RequestBody Map<String, String> payload) {
-        Commute commute = new Commute();
-        commute.setEmployeeId(payload.get("employeeId"));
-        commute.setEmployeeName(payload.get("employeeName"));
-        commute.setWorkPlaceName(payload.get("workPlaceName"));
-        commute.setCommuteDay(LocalDate.parse(payload.get("commuteDay")));
-        commute.setStartTime(LocalTime.parse(payload.get("startTime")));
-        return commuteRepository.save(commute);
+    public ResponseEntity<?> clockIn(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                     @RequestBody ClockInRequest request) {
+        String error = request.validationError();
+        if (error != null) {
+            return ResponseEntity.badRequest().body(error);
+        }
+        Object key = idempotencyKey != null ? List.of("clock-in", request.employeeId(), idempotencyKey) : request;
+        IdempotencyCache.Replay previous = idempotencyCache.get(key);
+        if (previous != null) {
+            return replay(previous, request);
+        }
+        Commute commute = request.toCommute();
+        ResponseEntity<?> outside = checkGeofence(request, commute);
+        if (outside != null) {
+            return outside;
+        }
+        Commute saved;
+        if (commuteWriteBehind != null) {
+            try {
+                saved = commuteWriteBehind.submit(commute);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        } else {
+            saved = commuteSummaryService.saveCommute(commute);
+        }
+        attendanceBoard.record(saved);
+        lastCommuteCache.record(saved);
+        idempotencyCache.put(key, request, saved);
+        return ResponseEntity.ok(saved);
+    }
+
+    private static ResponseEntity<?> replay(IdempotencyCache.Replay previous, Object request) {
+        if (!previous.matches(request)) {
+            return ResponseEntity.unprocessableEntity().body("Idempotency-Key was already used with a different request");
+        }
+        return ResponseEntity.ok(previous.response());
+    }
+
+    // 지오펜스가 켜져 있으면 단말 위치가 직원에게 배정된 근무지 반경 안인지 확인, 통과하면 null
+    // 요청의 workPlaceName은 믿지 않고 배정된 근무지로 기록
+    private ResponseEntity<?> checkGeofence(ClockInRequest request, Commute commute) {
+        if (!workPlaceLocator.geofenceEnabled()) {
+            return null;
+        }
+        if (request.latitude() == null) {
+            return ResponseEntity.badRequest().body("latitude and longitude are required");
+        }
+        Optional<EmployeeView> employee = employeeCache.find(request.employeeId())
+                .map(EmployeeCache.Entry::view)
+                .filter(view -> view.employeeName().equals(request.employeeName()));
+        if (employee.isEmpty()) {
+            return ResponseEntity.badRequest().body("Unknown employee");
+        }
+        String workPlaceName = employee.get().workPlaceName();
+        OptionalDouble distance = workPlaceName == null
+                ? OptionalDouble.empty()
+                : workPlaceLocator.distanceTo(workPlaceName, request.latitude(), request.longitude());
+        if (distance.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("No assigned workplace to check the geofence against");
+        }
+        // 근무지 좌표가 잘못되어 거리가 NaN이면 비교가 항상 false이므로 밖에 있는 것으로 처리
+        if (!Double.isFinite(distance.getAsDouble())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Outside workplace geofence");
+        }
+        if (distance.getAsDouble() > workPlaceLocator.geofenceRadiusMeters()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(String.format("Outside workplace geofence (%.0f m away)", distance.getAsDouble()));
+        }
+        commute.setWorkPlaceName(workPlaceName);
+        return null;
     }
 
     @PutMapping("/clock-out")
-    public ResponseEntity<Commute> clockOut(@RequestBody Map<String, String> payload) {
-        String employeeId = payload.get("employeeId");
+    public ResponseEntity<?> clockOut(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                      @RequestBody ClockOutRequest request) {
+        String error = request.validationError();
+        if (error != null) {
+            return ResponseEntity.badRequest().body(error);
+        }
         LocalDate today = LocalDate.now();
+        Object key = idempotencyKey != null
+                ? List.of("clock-out", request.employeeId(), idempotencyKey)
+                : List.of(today, request);
+        IdempotencyCache.Replay previous = idempotencyCache.get(key);
+        if (previous != null) {
+            return replay(previous, request);
+        }
 
-        return commuteRepository.findByEmployeeIdAndCommuteDay(employeeId, today).stream().findFirst()
+        // 오늘 출근 기록은 보드에서 조회 (write-behind 저널에만 있는 기록도 포함)
+        return attendanceBoard.find(request.employeeId())
                 .map(commute -> {
-                    commute.setEndTime(LocalTime.parse(payload.get("endTime")));
-                    return ResponseEntity.ok(commuteRepository.save(commute));
+                    if (commuteWriteBehind != null) {
+                        // 저널에만 있는 출근 기록이면 먼저 반영해서 flusher의 INSERT와 겹치지 않도록 함
+                        commuteWriteBehind.flushIfPending(commute.getEmployeeId(), commute.getCommuteDay());
+                    }
+                    commute.setEndTime(request.endTime());
+                    Commute saved = commuteSummaryService.saveCommute(commute);
+                    attendanceBoard.record(saved);
+                    lastCommuteCache.record(saved);
+                    idempotencyCache.put(key, request, saved);
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/today")
     public ResponseEntity<Commute> getTodayCommute(@RequestParam String employeeId) {
-        return commuteRepository.findByEmployeeIdAndCommuteDay(employeeId, LocalDate.now()).stream().findFirst()
+        return attendanceBoard.find(employeeId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // 관리자용 오늘 출근 현황 전체
+    @GetMapping("/today/all")
+    public List<Commute> getTodayBoard() {
+        return attendanceBoard.all();
+    }
+
     @GetMapping("/monthly")
     public List<Commute> getMonthlyCommute(@RequestParam String employeeId, @RequestParam int year, @RequestParam int month) {
         YearMonth yearMonth = YearMonth.of(year, month);
@@ -58,9 +197,54 @@ public class CommuteController {
         return commuteRepository.findByEmployeeIdAndCommuteDayBetween(employeeId, startDate, endDate);
     }
 
+    // 월별 근태 요약 (급여 정산용) - employeeId 생략 시 해당 월 전체 직원
+    @GetMapping("/monthly/summary")
+    public ResponseEntity<?> getMonthlySummary(@RequestParam(required = false) String employeeId,
+                                               @RequestParam int year, @RequestParam int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        if (employeeId == null) {
+            return ResponseEntity.ok(commuteSummaryService.findMonth(yearMonth));
+        }
+        return commuteSummaryService.find(employeeId, yearMonth)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // 과거 데이터 반영이나 수동 수정 후 해당 월 요약 재생성
+    @PostMapping("/monthly/summary/rebuild")
+    public ResponseEntity<?> rebuildMonthlySummary(@RequestParam int year, @RequestParam int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        int rebuilt = commuteSummaryService.rebuild(yearMonth);
+        return ResponseEntity.ok(Map.of("month", yearMonth.toString(), "rebuilt", rebuilt));
+    }
+
+    // 급여 정산용 월 전체 근태 내보내기 (csv 또는 ndjson, 한 번의 커서 순회로 바로 응답에 기록)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMonth(@RequestParam int year, @RequestParam int month,
+                                                             @RequestParam(defaultValue = "csv") String format) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        LocalDate startDate = yearMonth.atDay(1);
+        LocalDate endDate = yearMonth.atEndOfMonth();
+        if (format.equals("ndjson")) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(responseStreamer.ndjson(() -> commuteRepository.streamByCommuteDayBetween(startDate, endDate)));
+        }
+        if (!format.equals("csv")) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"commute-" + yearMonth + ".csv\"")
+                .body(responseStreamer.csv(() -> commuteRepository.streamByCommuteDayBetween(startDate, endDate),
+                        EXPORT_COLUMNS,
+                        commute -> Arrays.asList(commute.getCommuteDay(), commute.getEmployeeId(), commute.getEmployeeName(),
+                                commute.getWorkPlaceName(), commute.getStartTime(), commute.getEndTime())));
+    }
+
     @GetMapping("/recent")
     public ResponseEntity<Commute> getRecentCommute(@RequestParam String employeeId, @RequestParam String employeeName) {
-        return commuteRepository.findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc(employeeId, employeeName)
+        return lastCommuteCache.find(employeeId, employeeName)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -1,50 +1,143 @@
 package com.example.mostin.controllers;
 
+import com.example.mostin.dto.EmployeeView;
+import com.example.mostin.models.Commute;
 import com.example.mostin.models.Employee;
+import com.example.mostin.pagination.KeysetCursor;
+import com.example.mostin.pagination.KeysetPage;
 import com.example.mostin.repositories.EmployeeRepository;
+import com.example.mostin.services.AttendanceBoard;
+import com.example.mostin.services.CommuteWriteBehind;
+import com.example.mostin.services.EmployeeCache;
+import com.example.mostin.services.EmployeeDeletionService;
+import com.example.mostin.services.IdempotencyCache;
+import com.example.mostin.services.LastCommuteCache;
+import com.example.mostin.services.LoginMetrics;
+import com.example.mostin.services.LoginTokenService;
+import com.example.mostin.services.PasswordHashingService;
+import com.example.mostin.services.ResponseStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api")
 public class EmployeeController {
 
+    static final String AUTH_TOKEN_HEADER = "X-Auth-Token";
+    private static final String BEARER_PREFIX = "Bearer ";
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
-    private final BCryptPasswordEncoder passwordEncoder;
+    @Autowired
+    private ResponseStreamer responseStreamer;
+
+    @Autowired
+    private LoginTokenService loginTokenService;
+
+    @Autowired
+    private LoginMetrics loginMetrics;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private EmployeeDeletionService employeeDeletionService;
+
+    @Autowired
+    private LastCommuteCache lastCommuteCache;
+
+    @Autowired
+    private AttendanceBoard attendanceBoard;
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    // mostin.commute.write-behind.enabled=true 일 때만 존재
+    @Autowired(required = false)
+    private CommuteWriteBehind commuteWriteBehind;
+
+    private final PasswordHashingService passwordHashing;
 
     @Autowired
-    public EmployeeController(BCryptPasswordEncoder passwordEncoder) {
-        this.passwordEncoder = passwordEncoder;
+    public EmployeeController(PasswordHashingService passwordHashing) {
+        this.passwordHashing = passwordHashing;
     }
 
     // Login
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
+    public ResponseEntity<?> login(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                   @RequestBody(required = false) Map<String, String> credentials) {
+        long started = loginMetrics.now();
+        // 유효한 토큰이면 BCrypt 비교 없이 HMAC 검증만으로 응답
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            Optional<EmployeeView> authenticated = loginTokenService.verify(authorization.substring(BEARER_PREFIX.length()))
+                    .flatMap(claims -> employeeCache.find(claims.employeeId())
+                            .filter(entry -> loginTokenService.isCurrent(claims, entry.passwordFingerprint())))
+                    .map(EmployeeCache.Entry::view);
+            if (authenticated.isPresent() || credentials == null) {
+                ResponseEntity<?> response = authenticated.<ResponseEntity<?>>map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.status(401).body("Invalid token"));
+                loginMetrics.record(LoginMetrics.Kind.TOKEN, loginMetrics.now() - started);
+                return response;
+            }
+        }
+        if (credentials == null) {
+            return ResponseEntity.badRequest().body("Missing credentials");
+        }
+
         String employeeId = credentials.get("employeeId");
         String rawPassword = credentials.get("password");
 
-        return employeeRepository.findByEmployeeId(employeeId)
-                .map(employee -> {
-                    if (passwordEncoder.matches(rawPassword, employee.getEmployeePwd())) {
-                        return ResponseEntity.ok(employee);
+        ResponseEntity<?> response = employeeRepository.findByEmployeeId(employeeId)
+                .<ResponseEntity<?>>map(employee -> {
+                    if (passwordHashing.matches(rawPassword, employee.getEmployeePwd())) {
+                        return ResponseEntity.ok()
+                                .header(AUTH_TOKEN_HEADER, loginTokenService.issue(employee))
+                                .body(EmployeeView.of(employee));
                     }
                     return ResponseEntity.status(401).body("Password mismatch");
                 })
                 .orElse(ResponseEntity.status(404).body("User not found"));
+        loginMetrics.record(LoginMetrics.Kind.PASSWORD, loginMetrics.now() - started);
+        return response;
+    }
+
+    @GetMapping("/login/metrics")
+    public LoginMetrics.Snapshot getLoginMetrics() {
+        return loginMetrics.snapshot();
+    }
+
+    @GetMapping("/login/hashing")
+    public PasswordHashingService.Stats getPasswordHashingStats() {
+        return passwordHashing.stats();
+    }
+
+    // BCrypt 풀이 가득 차면 요청 스레드를 붙잡지 않고 바로 503으로 응답
+    @ExceptionHandler(PasswordHashingService.SaturatedException.class)
+    public ResponseEntity<String> passwordHashingSaturated(PasswordHashingService.SaturatedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body("Too many concurrent logins");
     }
 
     // Employee CRUD
     @PostMapping("/employees")
     public Employee createEmployee(@RequestBody Employee employee) {
-        employee.setEmployeePwd(passwordEncoder.encode(employee.getEmployeePwd())); // Hash the password
-        return employeeRepository.save(employee);
+        employee.setEmployeePwd(passwordHashing.encode(employee.getEmployeePwd())); // Hash the password
+        Employee savedEmployee = employeeRepository.save(employee);
+        employeeCache.invalidate(savedEmployee.getEmployeeId());
+        return savedEmployee;
     }
 
     @GetMapping("/employees")
@@ -52,10 +145,41 @@ public class EmployeeController {
         return employeeRepository.findAll();
     }
 
+    @GetMapping("/employees/page")
+    public ResponseEntity<KeysetPage<Employee>> getEmployeesPage(@RequestParam(defaultValue = "100") int size,
+                                                                 @RequestParam(required = false) String cursor) {
+        int pageSize = KeysetCursor.clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize);
+        List<Employee> rows;
+        if (cursor == null) {
+            rows = employeeRepository.findAllByOrderByEmployeeIdAscEmployeeNameAsc(limit);
+        } else {
+            String[] key;
+            try {
+                key = KeysetCursor.decode(cursor, 2);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            rows = employeeRepository.findPageAfter(key[0], key[1], limit);
+        }
+        return ResponseEntity.ok(KeysetPage.of(rows, pageSize,
+                employee -> KeysetCursor.encode(employee.getEmployeeId(), employee.getEmployeeName())));
+    }
+
+    @GetMapping(value = "/employees/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamEmployees() {
+        return responseStreamer.ndjson(employeeRepository::streamAll);
+    }
+
+    @GetMapping("/employees/cache/stats")
+    public EmployeeCache.Stats getEmployeeCacheStats() {
+        return employeeCache.stats();
+    }
+
     @GetMapping("/employees/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable String id) {
-        return employeeRepository.findByEmployeeId(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<EmployeeView> getEmployeeById(@PathVariable String id) {
+        return employeeCache.find(id)
+                .map(entry -> ResponseEntity.ok(entry.view()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -68,21 +192,33 @@ public class EmployeeController {
                     employee.setWorkPlaceName(employeeDetails.getWorkPlaceName());
                     // Only update password if provided and different
                     if (employeeDetails.getEmployeePwd() != null && !employeeDetails.getEmployeePwd().isEmpty()) {
-                        employee.setEmployeePwd(passwordEncoder.encode(employeeDetails.getEmployeePwd()));
+                        employee.setEmployeePwd(passwordHashing.encode(employeeDetails.getEmployeePwd()));
                     }
                     // Add other fields to update as needed
                     Employee updatedEmployee = employeeRepository.save(employee);
+                    employeeCache.invalidate(id);
                     return ResponseEntity.ok(updatedEmployee);
                 }).orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/employees/{id}")
     public ResponseEntity<?> deleteEmployee(@PathVariable String id) {
-        return employeeRepository.findByEmployeeId(id)
-                .map(employee -> {
-                    employeeRepository.delete(employee);
-                    return ResponseEntity.ok().build();
-                }).orElse(ResponseEntity.notFound().build());
+        if (commuteWriteBehind != null) {
+            // 저널에만 있는 출근 기록을 먼저 반영해서 아래 일괄 DELETE에 함께 지워지도록 함
+            // (삭제 트랜잭션 안에서 하면 flush가 그 트랜잭션에 참여하므로 시작 전에 호출)
+            commuteWriteBehind.flushIfPending(id);
+        }
+        Optional<EmployeeDeletionService.Result> deleted = employeeDeletionService.delete(id);
+        if (deleted.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // 커밋 이후에 메모리 캐시 정리
+        EmployeeDeletionService.Result result = deleted.get();
+        employeeCache.invalidate(id);
+        lastCommuteCache.evict(id, result.employeeName());
+        attendanceBoard.remove(id);
+        idempotencyCache.evictIf(response -> response instanceof Commute commute && id.equals(commute.getEmployeeId()));
+        return ResponseEntity.ok(result);
     }
 
     @GetMapping("/employees/count")
@@ -1,12 +1,28 @@
 package com.example.mostin.controllers;
 
 import com.example.mostin.models.Goods;
-import com.example.mostin.models.GoodsId;
+import com.example.mostin.pagination.KeysetCursor;
+import com.example.mostin.pagination.KeysetPage;
 import com.example.mostin.repositories.GoodsRepository;
+import com.example.mostin.services.CatalogVersions;
+import com.example.mostin.services.GoodsCatalogCache;
+import com.example.mostin.services.GoodsChangeLog;
+import com.example.mostin.services.GoodsImportService;
+import com.example.mostin.services.ResponseStreamer;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -16,14 +32,91 @@ public class GoodsController {
     @Autowired
     private GoodsRepository goodsRepository;
 
+    @Autowired
+    private GoodsCatalogCache goodsCatalogCache;
+
+    @Autowired
+    private ResponseStreamer responseStreamer;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private GoodsChangeLog goodsChangeLog;
+
+    @Autowired
+    private GoodsImportService goodsImportService;
+
     @GetMapping
-    public List<Goods> getAllGoods() {
-        return goodsRepository.findAll();
+    public ResponseEntity<List<Goods>> getAllGoods(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = CatalogVersions.etag("goods", catalogVersions.goods());
+        if (CatalogVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(goodsRepository.findAll());
+    }
+
+    // 커서 기반 페이지 조회 (barcode, goodsName 순)
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Goods>> getGoodsPage(@RequestParam(defaultValue = "100") int size,
+                                                          @RequestParam(required = false) String cursor) {
+        int pageSize = KeysetCursor.clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize);
+        List<Goods> rows;
+        if (cursor == null) {
+            rows = goodsRepository.findAllByOrderByBarcodeAscGoodsNameAsc(limit);
+        } else {
+            String[] key;
+            try {
+                key = KeysetCursor.decode(cursor, 2);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            rows = goodsRepository.findPageAfter(key[0], key[1], limit);
+        }
+        return ResponseEntity.ok(KeysetPage.of(rows, pageSize,
+                goods -> KeysetCursor.encode(goods.getBarcode(), goods.getGoodsName())));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamGoods() {
+        return responseStreamer.ndjson(goodsRepository::streamAll);
     }
 
     @PostMapping
     public Goods createGoods(@RequestBody Goods goods) {
-        return goodsRepository.save(goods);
+        Goods savedGoods = goodsRepository.save(goods);
+        goodsCatalogCache.invalidate();
+        goodsChangeLog.recordUpsert(savedGoods);
+        return savedGoods;
+    }
+
+    // 대량 등록: JSON 배열
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importGoodsJson(InputStream body) {
+        try {
+            return ResponseEntity.ok(goodsImportService.importJson(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (UncheckedIOException e) {
+            if (e.getCause() instanceof JsonProcessingException jsonError) {
+                return ResponseEntity.badRequest().body("Malformed goods JSON: " + jsonError.getOriginalMessage());
+            }
+            throw e;
+        }
+    }
+
+    // 대량 등록: barcode,goodsName CSV (본문 또는 파일 업로드)
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<GoodsImportService.Result> importGoodsCsv(InputStream body) {
+        return ResponseEntity.ok(goodsImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<GoodsImportService.Result> importGoodsCsvFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(goodsImportService.importCsv(in));
+        }
     }
 
     @GetMapping("/count")
@@ -31,33 +124,62 @@ public class GoodsController {
         return goodsRepository.count();
     }
 
+    // 바코드 스캔 조회는 캐시에서 처리
+    @GetMapping("/{barcode}")
+    public ResponseEntity<List<Goods>> getGoodsByBarcode(@PathVariable String barcode) {
+        List<Goods> goodsList = goodsCatalogCache.findByBarcode(barcode);
+        if (goodsList.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(goodsList);
+    }
+
+    @GetMapping("/search")
+    public List<Goods> searchGoods(@RequestParam String prefix, @RequestParam(defaultValue = "50") int limit) {
+        return goodsCatalogCache.searchByNamePrefix(prefix, Math.max(1, Math.min(limit, 500)));
+    }
+
+    // 클라이언트가 가진 버전 이후의 변경분만 반환
+    @GetMapping("/changes")
+    public GoodsChangeLog.Changes getGoodsChanges(@RequestParam long since) {
+        return goodsChangeLog.changesSince(since);
+    }
+
+    @GetMapping("/cache/stats")
+    public GoodsCatalogCache.Stats getCacheStats() {
+        return goodsCatalogCache.stats();
+    }
+
     @DeleteMapping("/{barcode}")
     public ResponseEntity<?> deleteGoods(@PathVariable String barcode) {
-        // Goods는 복합키를 사용하므로 barcode로만 조회해서 삭제
-        List<Goods> goodsList = goodsRepository.findAll();
-        
-        for (Goods goods : goodsList) {
-            if (barcode.equals(goods.getBarcode())) {
-                goodsRepository.delete(goods);
-                return ResponseEntity.ok().build();
-            }
-        }
-        
-        return ResponseEntity.notFound().build();
+        // Goods는 복합키를 사용하므로 barcode 인덱스로 한 건만 조회해서 삭제
+        return goodsRepository.findFirstByBarcode(barcode)
+                .map(goods -> {
+                    goodsRepository.delete(goods);
+                    goodsCatalogCache.invalidate();
+                    goodsChangeLog.recordDelete(goods);
+                    return ResponseEntity.ok().build();
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{barcode}")
     public ResponseEntity<Goods> updateGoods(@PathVariable String barcode, @RequestBody Goods goodsDetails) {
-        List<Goods> goodsList = goodsRepository.findAll();
-        
-        for (Goods goods : goodsList) {
-            if (barcode.equals(goods.getBarcode())) {
-                goods.setGoodsName(goodsDetails.getGoodsName());
-                Goods updatedGoods = goodsRepository.save(goods);
-                return ResponseEntity.ok(updatedGoods);
-            }
-        }
-        
-        return ResponseEntity.notFound().build();
+        return goodsRepository.findFirstByBarcode(barcode)
+                .map(goods -> {
+                    Goods previous = new Goods();
+                    previous.setBarcode(goods.getBarcode());
+                    previous.setGoodsName(goods.getGoodsName());
+                    goods.setGoodsName(goodsDetails.getGoodsName());
+                    Goods updatedGoods = goodsRepository.save(goods);
+                    goodsCatalogCache.invalidate();
+                    // goodsName은 키의 일부이므로 이전 키는 삭제로 기록
+                    if (!previous.equals(updatedGoods)) {
+                        goodsChangeLog.recordDelete(previous);
+                    }
+                    goodsChangeLog.recordUpsert(updatedGoods);
+                    return ResponseEntity.ok(updatedGoods);
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
 }
@@ -1,28 +1,58 @@
 package com.example.mostin.controllers;
+import com.example.mostin.models.OrderDaySummary;
 import com.example.mostin.models.Ordering;
+import com.example.mostin.pagination.KeysetCursor;
+import com.example.mostin.pagination.KeysetPage;
 import com.example.mostin.repositories.OrderingRepository;
+import com.example.mostin.services.OrderBatchService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderingController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private OrderingRepository orderingRepository;
+
+    @Autowired
+    private OrderBatchService orderBatchService;
+
     @PostMapping
     public Ordering createOrder(@RequestBody Ordering order) {
         order.setOrderingDay(LocalDate.now());
         return orderingRepository.save(order);
     }
 
+    // 발주서 전체를 한 번에 등록 (라인별 결과 반환)
+    @PostMapping("/batch")
+    public ResponseEntity<?> createOrderBatch(@RequestBody OrderBatchService.OrderSheet sheet) {
+        try {
+            return ResponseEntity.ok(orderBatchService.submit(sheet, LocalDate.now()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * @deprecated returns only the newest {@code size} lines; use {@code GET /api/orders/history/page}, whose
+     * cursor is also sent here in the {@value #NEXT_CURSOR_HEADER} header when more lines exist.
+     */
+    @Deprecated
     @GetMapping
-    public List<Ordering> getOrdersByEmployee(@RequestParam String employeeId) {
-        return orderingRepository.findByEmployeeIdOrderByOrderingDayDesc(employeeId);
+    public ResponseEntity<List<Ordering>> getOrdersByEmployee(@RequestParam String employeeId,
+                                                              @RequestParam(defaultValue = "100") int size) {
+        return firstHistoryPage(employeeId, size);
     }
 
     @GetMapping("/details")
@@ -31,16 +61,66 @@ public class OrderingController {
         return orderingRepository.findByEmployeeIdAndOrderingDay(employeeId, localDate);
     }
 
-    @GetMapping("/history") // New endpoint for order history
-    public List<Ordering> getOrderHistory(@RequestParam String employeeId) {
-        return orderingRepository.findByEmployeeIdOrderByOrderingDayDesc(employeeId);
+    /** @deprecated same capped listing as {@link #getOrdersByEmployee}; use {@code GET /api/orders/history/page}. */
+    @Deprecated
+    @GetMapping("/history")
+    public ResponseEntity<List<Ordering>> getOrderHistory(@RequestParam String employeeId,
+                                                          @RequestParam(defaultValue = "100") int size) {
+        return firstHistoryPage(employeeId, size);
+    }
+
+    // 이력 화면용 날짜별 요약 (라인 전체를 내려보내지 않음)
+    @GetMapping("/history/summary")
+    public List<OrderDaySummary> getOrderHistorySummary(@RequestParam String employeeId) {
+        return orderingRepository.summarizeByDay(employeeId);
+    }
+
+    // 이력 화면용 페이지 조회 (근속 기간과 무관하게 size 만큼만 로딩)
+    @GetMapping("/history/page")
+    public ResponseEntity<KeysetPage<Ordering>> getOrderHistoryPage(@RequestParam String employeeId,
+                                                                    @RequestParam(defaultValue = "100") int size,
+                                                                    @RequestParam(required = false) String cursor) {
+        int pageSize = KeysetCursor.clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize);
+        List<Ordering> rows;
+        if (cursor == null) {
+            rows = orderingRepository.findByEmployeeIdOrderByOrderingDayDescBarcodeAsc(employeeId, limit);
+        } else {
+            LocalDate day;
+            String[] key;
+            try {
+                key = KeysetCursor.decode(cursor, 2);
+                day = LocalDate.parse(key[0]);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            rows = orderingRepository.findHistoryPageAfter(employeeId, day, key[1], limit);
+        }
+        return ResponseEntity.ok(KeysetPage.of(rows, pageSize, OrderingController::cursorOf));
+    }
+
+    // 예전 전체 목록 API는 keyset 첫 페이지로 제한하고 다음 커서는 헤더로 전달
+    private ResponseEntity<List<Ordering>> firstHistoryPage(String employeeId, int size) {
+        int pageSize = KeysetCursor.clampPageSize(size);
+        List<Ordering> rows = orderingRepository.findByEmployeeIdOrderByOrderingDayDescBarcodeAsc(employeeId,
+                PageRequest.of(0, pageSize));
+        KeysetPage<Ordering> page = KeysetPage.of(rows, pageSize, OrderingController::cursorOf);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    private static String cursorOf(Ordering order) {
+        return KeysetCursor.encode(order.getOrderingDay().toString(), order.getBarcode());
     }
 
     @Transactional
     @DeleteMapping
     public ResponseEntity<?> deleteOrdersByDate(@RequestParam String employeeId, @RequestParam String date) {
         LocalDate today = LocalDate.now(); // Use server's current date
-        orderingRepository.deleteByEmployeeIdAndOrderingDay(employeeId, today);
-        return ResponseEntity.ok().build();
+        int deleted = orderingRepository.deleteByEmployeeIdAndOrderingDay(employeeId, today);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
     }
 }
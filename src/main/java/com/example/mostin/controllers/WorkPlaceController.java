@@ -1,33 +1,107 @@
 package com.example.mostin.controllers;
 
 import com.example.mostin.models.WorkPlace;
+import com.example.mostin.pagination.KeysetCursor;
+import com.example.mostin.pagination.KeysetPage;
 import com.example.mostin.repositories.WorkPlaceRepository;
+import com.example.mostin.services.CatalogVersions;
+import com.example.mostin.services.ResponseStreamer;
+import com.example.mostin.services.WorkPlaceLocator;
+import com.example.mostin.services.WorkPlaceRegistry;
+import com.example.mostin.services.WorkPlaceSpatialIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/workplaces")
 public class WorkPlaceController {
 
+    private static final int MAX_NEAREST = 50;
+
     @Autowired
     private WorkPlaceRepository workPlaceRepository;
 
+    @Autowired
+    private ResponseStreamer responseStreamer;
+
+    @Autowired
+    private WorkPlaceRegistry workPlaceRegistry;
+
+    @Autowired
+    private WorkPlaceLocator workPlaceLocator;
+
     @GetMapping
-    public List<WorkPlace> getAllWorkPlaces() {
-        return workPlaceRepository.findAll();
+    public ResponseEntity<List<WorkPlace>> getAllWorkPlaces(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 목록과 버전이 같은 스냅샷에서 나오므로 ETag가 항상 응답 내용과 일치
+        WorkPlaceRegistry.Snapshot snapshot = workPlaceRegistry.snapshot();
+        String etag = CatalogVersions.etag("workplaces", snapshot.version());
+        if (CatalogVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(snapshot.workPlaces());
+    }
+
+    @GetMapping("/version")
+    public Map<String, Long> getWorkPlacesVersion() {
+        return Map.of("version", workPlaceRegistry.snapshot().version());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<WorkPlace>> getWorkPlacesPage(@RequestParam(defaultValue = "100") int size,
+                                                                   @RequestParam(required = false) String cursor) {
+        int pageSize = KeysetCursor.clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize);
+        List<WorkPlace> rows;
+        if (cursor == null) {
+            rows = workPlaceRepository.findAllByOrderByWorkPlaceNameAsc(limit);
+        } else {
+            String[] key;
+            try {
+                key = KeysetCursor.decode(cursor, 1);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            rows = workPlaceRepository.findByWorkPlaceNameGreaterThanOrderByWorkPlaceNameAsc(key[0], limit);
+        }
+        return ResponseEntity.ok(KeysetPage.of(rows, pageSize,
+                workPlace -> KeysetCursor.encode(workPlace.getWorkPlaceName())));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamWorkPlaces() {
+        return responseStreamer.ndjson(workPlaceRepository::streamAll);
     }
 
     @PostMapping
     public WorkPlace createWorkPlace(@RequestBody WorkPlace workPlace) {
-        return workPlaceRepository.save(workPlace);
+        WorkPlace savedWorkPlace = workPlaceRepository.save(workPlace);
+        workPlaceRegistry.put(savedWorkPlace);
+        return savedWorkPlace;
+    }
+
+    // 이동 근무자용: 좌표에서 가까운 근무지 k개 (메모리 격자 인덱스 조회)
+    @GetMapping("/nearest")
+    public ResponseEntity<List<WorkPlaceSpatialIndex.Neighbor>> getNearestWorkPlaces(@RequestParam double lat,
+                                                                                     @RequestParam double lon,
+                                                                                     @RequestParam(defaultValue = "1") int k) {
+        if (!Double.isFinite(lat) || !Double.isFinite(lon) || Math.abs(lat) > 90 || Math.abs(lon) > 180 || k < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(workPlaceLocator.nearest(lat, lon, Math.min(k, MAX_NEAREST)));
     }
 
     @GetMapping("/{name}")
     public ResponseEntity<WorkPlace> getWorkPlaceByName(@PathVariable String name) {
-        return workPlaceRepository.findById(name)
+        return workPlaceRegistry.snapshot().find(name)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -0,0 +1,56 @@
+package com.example.mostin.dto;
+
+import com.example.mostin.models.Commute;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Clock-in body. Jackson binds {@code commuteDay} and {@code startTime} directly, so
+ * malformed values are rejected during deserialization instead of in the controller.
+ * {@code latitude}/{@code longitude} are the device position, required only when the geofence is enabled; the
+ * position is then checked against the employee's assigned workplace, which also replaces {@code workPlaceName}.
+ */
+public record ClockInRequest(String employeeId,
+                             String employeeName,
+                             String workPlaceName,
+                             LocalDate commuteDay,
+                             LocalTime startTime,
+                             Double latitude,
+                             Double longitude) {
+
+    /** Returns the first problem with this request, or null when it can be saved. */
+    public String validationError() {
+        if (employeeId == null || employeeId.isBlank()) {
+            return "employeeId is required";
+        }
+        if (employeeName == null || employeeName.isBlank()) {
+            return "employeeName is required";
+        }
+        if (commuteDay == null) {
+            return "commuteDay is required";
+        }
+        if (startTime == null) {
+            return "startTime is required";
+        }
+        if ((latitude == null) != (longitude == null)) {
+            return "latitude and longitude must be given together";
+        }
+        // NaN은 범위 비교를 모두 통과하므로 유한한 값인지 먼저 확인
+        if (latitude != null && (!Double.isFinite(latitude) || !Double.isFinite(longitude)
+                || Math.abs(latitude) > 90 || Math.abs(longitude) > 180)) {
+            return "latitude/longitude out of range";
+        }
+        return null;
+    }
+
+    public Commute toCommute() {
+        Commute commute = new Commute();
+        commute.setEmployeeId(employeeId);
+        commute.setEmployeeName(employeeName);
+        commute.setWorkPlaceName(workPlaceName);
+        commute.setCommuteDay(commuteDay);
+        commute.setStartTime(startTime);
+        return commute;
+    }
+}
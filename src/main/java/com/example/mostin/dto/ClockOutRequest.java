@@ -0,0 +1,20 @@
+package com.example.mostin.dto;
+
+import java.time.LocalTime;
+
+/**
+ * Clock-out body. The commute day is always the server's current date.
+ */
+public record ClockOutRequest(String employeeId, LocalTime endTime) {
+
+    /** Returns the first problem with this request, or null when it can be applied. */
+    public String validationError() {
+        if (employeeId == null || employeeId.isBlank()) {
+            return "employeeId is required";
+        }
+        if (endTime == null) {
+            return "endTime is required";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.mostin.dto;
+
+import com.example.mostin.models.Employee;
+
+/**
+ * Employee as returned by lookups and login: every column except the password hash.
+ */
+public record EmployeeView(String employeeId,
+                           String employeeName,
+                           String phoneNum,
+                           String employeeType,
+                           String address,
+                           String workPlaceName) {
+
+    public static EmployeeView of(Employee employee) {
+        return new EmployeeView(employee.getEmployeeId(), employee.getEmployeeName(), employee.getPhoneNum(),
+                employee.getEmployeeType(), employee.getAddress(), employee.getWorkPlaceName());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.mostin.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Per-employee commute totals for one month ({@code summaryMonth} is "yyyy-MM").
+ * Only closed commutes (with an end time) are counted.
+ */
+@Data
+@Entity
+@Table(name = "commute_monthly_summary")
+@IdClass(CommuteMonthlySummaryId.class)
+public class CommuteMonthlySummary {
+
+    @Id
+    private String employeeId;
+
+    @Id
+    private String summaryMonth;
+
+    private String employeeName;
+    private int daysWorked;
+    private long totalMinutes;
+    private int lateCount;
+
+    public long getAverageMinutes() {
+        return daysWorked == 0 ? 0 : totalMinutes / daysWorked;
+    }
+}
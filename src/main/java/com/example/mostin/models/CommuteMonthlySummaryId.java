@@ -0,0 +1,10 @@
+package com.example.mostin.models;
+
+import java.io.Serializable;
+import lombok.Data;
+
+@Data
+public class CommuteMonthlySummaryId implements Serializable {
+    private String employeeId;
+    private String summaryMonth;
+}
@@ -1,5 +1,6 @@
 package com.example.mostin.models;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -9,11 +10,15 @@ import jakarta.persistence.Table;
 import lombok.Data;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee")
 @Table(name = "employee_md")
 @IdClass(EmployeeId.class)
 public class Employee {
@@ -0,0 +1,14 @@
+package com.example.mostin.models;
+
+import java.time.LocalDate;
+
+/**
+ * Per-day order totals for one employee, read straight from an aggregate query
+ * instead of loading every {@link Ordering} line.
+ */
+public interface OrderDaySummary {
+    LocalDate getOrderingDay();
+    Long getLineCount();
+    Long getTotalBoxes();
+    Long getDistinctBarcodes();
+}
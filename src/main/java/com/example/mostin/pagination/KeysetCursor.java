@@ -0,0 +1,50 @@
+package com.example.mostin.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token holding the key of the last row of a page.
+ *
+ * Each key column is base64url-encoded and the parts are joined with '.', so key values may contain any
+ * character. Decoding rejects tokens with the wrong number of parts with {@link IllegalArgumentException}.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(String... keyParts) {
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < keyParts.length; i++) {
+            if (i > 0) {
+                token.append('.');
+            }
+            String part = keyParts[i] == null ? "" : keyParts[i];
+            token.append(ENCODER.encodeToString(part.getBytes(StandardCharsets.UTF_8)));
+        }
+        return token.toString();
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        String[] encoded = cursor.split("\\.", -1);
+        if (encoded.length != expectedParts) {
+            throw new IllegalArgumentException("Cursor must have " + expectedParts + " key parts");
+        }
+        String[] keyParts = new String[expectedParts];
+        for (int i = 0; i < expectedParts; i++) {
+            keyParts[i] = new String(DECODER.decode(encoded[i]), StandardCharsets.UTF_8);
+        }
+        return keyParts;
+    }
+
+    public static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
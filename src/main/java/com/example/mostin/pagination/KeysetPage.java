@@ -0,0 +1,17 @@
+package com.example.mostin.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page.
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    public static <T> KeysetPage<T> of(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() < pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        return new KeysetPage<>(rows, cursorOf.apply(rows.get(rows.size() - 1)));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.mostin.repositories;
+
+import com.example.mostin.models.CommuteMonthlySummary;
+import com.example.mostin.models.CommuteMonthlySummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CommuteMonthlySummaryRepository extends JpaRepository<CommuteMonthlySummary, CommuteMonthlySummaryId> {
+    List<CommuteMonthlySummary> findBySummaryMonthOrderByEmployeeId(String summaryMonth);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from CommuteMonthlySummary s where s.summaryMonth = :summaryMonth")
+    int deleteBySummaryMonth(@Param("summaryMonth") String summaryMonth);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from CommuteMonthlySummary s where s.employeeId = :employeeId")
+    int deleteByEmployeeId(@Param("employeeId") String employeeId);
+}
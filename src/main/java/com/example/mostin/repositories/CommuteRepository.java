@@ -2,16 +2,37 @@ package com.example.mostin.repositories;
 
 import com.example.mostin.models.Commute;
 import com.example.mostin.models.CommuteId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommuteRepository extends JpaRepository<Commute, CommuteId> {
     List<Commute> findByEmployeeIdAndCommuteDayBetween(String employeeId, LocalDate startDate, LocalDate endDate);
     List<Commute> findByEmployeeIdAndCommuteDay(String employeeId, LocalDate commuteDay);
+    List<Commute> findByCommuteDay(LocalDate commuteDay);
     Optional<Commute> findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc(String employeeId, String employeeName);
+
+    // 월 단위 전체 조회 (집계 재생성, 일괄 내보내기용) - 전진 전용 커서로 PK 순서대로 읽음
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Commute c where c.commuteDay between :startDate and :endDate order by c.commuteDay, c.employeeId")
+    Stream<Commute> streamByCommuteDayBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // 직원 삭제용: 행을 로딩하지 않고 단일 DELETE 문으로 처리
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Commute c where c.employeeId = :employeeId and c.employeeName = :employeeName")
+    int deleteByEmployeeIdAndEmployeeName(@Param("employeeId") String employeeId, @Param("employeeName") String employeeName);
 }
@@ -2,12 +2,41 @@ package com.example.mostin.repositories;
 
 import com.example.mostin.models.Employee;
 import com.example.mostin.models.EmployeeId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, EmployeeId> {
+    // 복합키라 findById로 2차 캐시를 쓸 수 없으므로 쿼리 캐시로 id를 찾고 엔티티는 2차 캐시에서 조립
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Employee> findByEmployeeId(String employeeId);
+
+    List<Employee> findAllByOrderByEmployeeIdAscEmployeeNameAsc(Pageable pageable);
+
+    @Query("select e from Employee e where e.employeeId >= :employeeId and (e.employeeId > :employeeId or e.employeeName > :employeeName) " +
+            "order by e.employeeId, e.employeeName")
+    List<Employee> findPageAfter(@Param("employeeId") String employeeId, @Param("employeeName") String employeeName, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e order by e.employeeId, e.employeeName")
+    Stream<Employee> streamAll();
+
+    // repository.delete는 cascade로 출퇴근/발주 컬렉션을 모두 로딩하므로 자식 행을 먼저 지운 뒤 사용
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.employeeId = :employeeId and e.employeeName = :employeeName")
+    int deleteByEmployeeIdAndEmployeeName(@Param("employeeId") String employeeId, @Param("employeeName") String employeeName);
 }
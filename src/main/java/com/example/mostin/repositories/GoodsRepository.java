@@ -2,9 +2,38 @@ package com.example.mostin.repositories;
 
 import com.example.mostin.models.Goods;
 import com.example.mostin.models.GoodsId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface GoodsRepository extends JpaRepository<Goods, GoodsId> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Goods> findByBarcode(String barcode);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Goods> findFirstByBarcode(String barcode);
+    List<Goods> findByBarcodeIn(Collection<String> barcodes);
+
+    List<Goods> findAllByOrderByBarcodeAscGoodsNameAsc(Pageable pageable);
+
+    @Query("select g from Goods g where g.barcode >= :barcode and (g.barcode > :barcode or g.goodsName > :goodsName) " +
+            "order by g.barcode, g.goodsName")
+    List<Goods> findPageAfter(@Param("barcode") String barcode, @Param("goodsName") String goodsName, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select g from Goods g order by g.barcode, g.goodsName")
+    Stream<Goods> streamAll();
 }
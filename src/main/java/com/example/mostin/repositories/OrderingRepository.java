@@ -1,8 +1,13 @@
 package com.example.mostin.repositories;
 
+import com.example.mostin.models.OrderDaySummary;
 import com.example.mostin.models.Ordering;
 import com.example.mostin.models.OrderingId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -13,5 +18,28 @@ public interface OrderingRepository extends JpaRepository<Ordering, OrderingId>
     List<Ordering> findByEmployeeId(String employeeId);
     List<Ordering> findByEmployeeIdOrderByOrderingDayDesc(String employeeId);
     List<Ordering> findByEmployeeIdAndOrderingDay(String employeeId, LocalDate orderingDay);
-    void deleteByEmployeeIdAndOrderingDay(String employeeId, LocalDate orderingDay);
+
+    // 발주 이력 keyset 페이지: 최신 날짜부터, 같은 날짜 안에서는 바코드 순
+    List<Ordering> findByEmployeeIdOrderByOrderingDayDescBarcodeAsc(String employeeId, Pageable pageable);
+
+    @Query("select o from Ordering o where o.employeeId = :employeeId " +
+            "and (o.orderingDay < :orderingDay or (o.orderingDay = :orderingDay and o.barcode > :barcode)) " +
+            "order by o.orderingDay desc, o.barcode")
+    List<Ordering> findHistoryPageAfter(@Param("employeeId") String employeeId, @Param("orderingDay") LocalDate orderingDay,
+                                        @Param("barcode") String barcode, Pageable pageable);
+
+    // 이력 화면 요약: 날짜별 라인 수, 박스 합계, 상품 종류 수를 DB에서 집계
+    @Query("select o.orderingDay as orderingDay, count(o) as lineCount, coalesce(sum(o.boxNum), 0) as totalBoxes, " +
+            "count(distinct o.barcode) as distinctBarcodes from Ordering o where o.employeeId = :employeeId " +
+            "group by o.orderingDay order by o.orderingDay desc")
+    List<OrderDaySummary> summarizeByDay(@Param("employeeId") String employeeId);
+
+    // 파생 delete는 엔티티를 하나씩 로딩 후 삭제하므로 단일 DELETE 문으로 처리
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Ordering o where o.employeeId = :employeeId and o.orderingDay = :orderingDay")
+    int deleteByEmployeeIdAndOrderingDay(@Param("employeeId") String employeeId, @Param("orderingDay") LocalDate orderingDay);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Ordering o where o.employeeId = :employeeId and o.employeeName = :employeeName")
+    int deleteByEmployeeIdAndEmployeeName(@Param("employeeId") String employeeId, @Param("employeeName") String employeeName);
 }
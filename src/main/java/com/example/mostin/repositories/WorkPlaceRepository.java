@@ -1,9 +1,26 @@
 package com.example.mostin.repositories;
 
 import com.example.mostin.models.WorkPlace;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface WorkPlaceRepository extends JpaRepository<WorkPlace, String> {
+    List<WorkPlace> findAllByOrderByWorkPlaceNameAsc(Pageable pageable);
+    List<WorkPlace> findByWorkPlaceNameGreaterThanOrderByWorkPlaceNameAsc(String workPlaceName, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select w from WorkPlace w order by w.workPlaceName")
+    Stream<WorkPlace> streamAll();
 }
@@ -0,0 +1,125 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Commute;
+import com.example.mostin.repositories.CommuteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Today's commute rows keyed by employeeId, so the "today" reads and clock-out never query the commute table.
+ *
+ * The board is loaded with one {@code commuteDay = today} query at startup and again at midnight, and every
+ * clock-in/out made through this server is recorded on it. It therefore assumes this instance is the only writer
+ * of today's rows. Entries are copies: callers may modify what {@link #find} returns without affecting the board.
+ */
+@Component
+public class AttendanceBoard {
+
+    private final CommuteRepository commuteRepository;
+    private final Supplier<LocalDate> today;
+
+    private volatile Day current;
+
+    @Autowired
+    public AttendanceBoard(CommuteRepository commuteRepository) {
+        this(commuteRepository, LocalDate::now);
+    }
+
+    AttendanceBoard(CommuteRepository commuteRepository, Supplier<LocalDate> today) {
+        this.commuteRepository = commuteRepository;
+        this.today = today;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rollOver();
+    }
+
+    // 자정에 새 날짜의 보드로 교체
+    @Scheduled(cron = "0 0 0 * * *")
+    public synchronized void rollOver() {
+        LocalDate day = today.get();
+        Map<String, Commute> rows = new ConcurrentHashMap<>();
+        for (Commute commute : commuteRepository.findByCommuteDay(day)) {
+            rows.put(commute.getEmployeeId(), copyOf(commute));
+        }
+        current = new Day(day, rows);
+    }
+
+    public Optional<Commute> find(String employeeId) {
+        return Optional.ofNullable(day().rows().get(employeeId)).map(AttendanceBoard::copyOf);
+    }
+
+    /** Every commute on today's board, ordered by employeeId. */
+    public List<Commute> all() {
+        return day().rows().values().stream()
+                .map(AttendanceBoard::copyOf)
+                .sorted(Comparator.comparing(Commute::getEmployeeId))
+                .toList();
+    }
+
+    /** Puts a saved clock-in or clock-out on the board. Rows for any other day are ignored. */
+    public void record(Commute commute) {
+        Day board = day();
+        if (board.day().equals(commute.getCommuteDay())) {
+            board.rows().put(commute.getEmployeeId(), copyOf(commute));
+        }
+    }
+
+    /** Drops an employee's row from today's board, e.g. after the employee was deleted. */
+    public void remove(String employeeId) {
+        day().rows().remove(employeeId);
+    }
+
+    /** Drops the employee's row only if the board is for {@code commuteDay}. */
+    public void remove(String employeeId, LocalDate commuteDay) {
+        Day board = day();
+        if (board.day().equals(commuteDay)) {
+            board.rows().remove(employeeId);
+        }
+    }
+
+    public LocalDate currentDay() {
+        return day().day();
+    }
+
+    private Day day() {
+        Day board = current;
+        // 스케줄러보다 먼저 날짜가 바뀐 요청이 들어와도 어제 보드를 쓰지 않도록 확인
+        if (board == null || !board.day().equals(today.get())) {
+            synchronized (this) {
+                board = current;
+                if (board == null || !board.day().equals(today.get())) {
+                    rollOver();
+                    board = current;
+                }
+            }
+        }
+        return board;
+    }
+
+    static Commute copyOf(Commute source) {
+        Commute copy = new Commute();
+        copy.setCommuteDay(source.getCommuteDay());
+        copy.setEmployeeId(source.getEmployeeId());
+        copy.setEmployeeName(source.getEmployeeName());
+        copy.setWorkPlaceName(source.getWorkPlaceName());
+        copy.setStartTime(source.getStartTime());
+        copy.setEndTime(source.getEndTime());
+        return copy;
+    }
+
+    private record Day(LocalDate day, Map<String, Commute> rows) {
+    }
+}
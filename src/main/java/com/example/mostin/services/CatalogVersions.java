@@ -0,0 +1,64 @@
+package com.example.mostin.services;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters for the goods and workplace catalogs, bumped after every committed write.
+ *
+ * Counters are seeded from the boot time so that ETags handed out by a previous process never match
+ * after a restart. List endpoints must read the version before reading rows: a write that lands in
+ * between then only costs the client one extra download instead of pinning stale data to a new tag.
+ */
+@Component
+public class CatalogVersions {
+
+    private final AtomicLong goods;
+    private final AtomicLong workPlaces;
+
+    public CatalogVersions() {
+        long seed = System.currentTimeMillis();
+        this.goods = new AtomicLong(seed);
+        this.workPlaces = new AtomicLong(seed);
+    }
+
+    public long goods() {
+        return goods.get();
+    }
+
+    public long bumpGoods() {
+        return goods.incrementAndGet();
+    }
+
+    public long workPlaces() {
+        return workPlaces.get();
+    }
+
+    public long bumpWorkPlaces() {
+        return workPlaces.incrementAndGet();
+    }
+
+    public static String etag(String catalog, long version) {
+        return "\"" + catalog + "-" + version + "\"";
+    }
+
+    /**
+     * Weak comparison as required for If-None-Match: "W/" prefixes are ignored and "*" matches anything.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
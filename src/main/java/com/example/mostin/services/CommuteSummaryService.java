@@ -0,0 +1,188 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Commute;
+import com.example.mostin.models.CommuteId;
+import com.example.mostin.models.CommuteMonthlySummary;
+import com.example.mostin.models.CommuteMonthlySummaryId;
+import com.example.mostin.repositories.CommuteMonthlySummaryRepository;
+import com.example.mostin.repositories.CommuteRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Maintains {@link CommuteMonthlySummary} rows so month-end reports read one row per employee.
+ *
+ * Every write of a commute row moves that day's contribution from the row as it was stored to the row as written,
+ * in the same transaction, so the month always equals what {@link #rebuild} would compute: re-clocking in takes
+ * the closed day back out, the next clock-out adds it again, and clocking out twice replaces the earlier end time.
+ * Writes that leave the row open (a first clock-in) do not touch the summary. If the month has no summary row yet
+ * it is computed from that employee's commutes once. {@link #rebuild} recomputes a whole month from the commute
+ * table for backfills or after commutes were edited elsewhere.
+ */
+@Service
+public class CommuteSummaryService {
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private final CommuteRepository commuteRepository;
+    private final CommuteMonthlySummaryRepository summaryRepository;
+    private final LocalTime lateAfter;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public CommuteSummaryService(CommuteRepository commuteRepository,
+                                 CommuteMonthlySummaryRepository summaryRepository,
+                                 @Value("${mostin.commute.late-after:09:00}") String lateAfter,
+                                 @Value("${mostin.commute.summary.batch-size:500}") int batchSize) {
+        this.commuteRepository = commuteRepository;
+        this.summaryRepository = summaryRepository;
+        this.lateAfter = LocalTime.parse(lateAfter);
+        this.batchSize = batchSize;
+    }
+
+    /** Saves a clock-in or clock-out and updates the month summary in the same transaction. */
+    @Transactional
+    public Commute saveCommute(Commute commute) {
+        CommuteId id = new CommuteId();
+        id.setEmployeeId(commute.getEmployeeId());
+        id.setCommuteDay(commute.getCommuteDay());
+        // save(merge)가 어차피 읽는 행이므로 추가 조회 없이 덮어쓰기 전 상태를 확보
+        Commute before = commuteRepository.findById(id).map(AttendanceBoard::copyOf).orElse(null);
+        Commute saved = commuteRepository.save(commute);
+        apply(before, saved);
+        return saved;
+    }
+
+    /**
+     * Moves one commute row's contribution to its month from {@code before} (the row as stored, or null if it is
+     * new) to {@code after} (the row as written). Call it after the write, inside the transaction that made it.
+     */
+    @Transactional
+    public void apply(Commute before, Commute after) {
+        boolean counted = before != null && isClosed(before);
+        if (!counted && !isClosed(after)) {
+            return;
+        }
+        YearMonth month = YearMonth.from(after.getCommuteDay());
+        Optional<CommuteMonthlySummary> existing = summaryRepository.findById(idOf(after.getEmployeeId(), month));
+        if (existing.isEmpty()) {
+            // 요약이 아직 없으면 해당 월 기록으로 한 번 계산 (이번 변경 포함)
+            summaryRepository.save(compute(after.getEmployeeId(), after.getEmployeeName(), month));
+            return;
+        }
+
+        CommuteMonthlySummary summary = existing.get();
+        if (counted) {
+            subtract(summary, before, before.getEndTime());
+        }
+        add(summary, after, after.getEndTime());
+        summary.setEmployeeName(after.getEmployeeName());
+    }
+
+    @Transactional(readOnly = true)
+    public List<CommuteMonthlySummary> findMonth(YearMonth month) {
+        return summaryRepository.findBySummaryMonthOrderByEmployeeId(month.toString());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CommuteMonthlySummary> find(String employeeId, YearMonth month) {
+        return summaryRepository.findById(idOf(employeeId, month));
+    }
+
+    /** Recomputes every summary of {@code month} in one pass over its commutes. Returns the number of rows written. */
+    @Transactional
+    public int rebuild(YearMonth month) {
+        summaryRepository.deleteBySummaryMonth(month.toString());
+
+        Map<String, CommuteMonthlySummary> byEmployee = new LinkedHashMap<>();
+        try (Stream<Commute> commutes = commuteRepository.streamByCommuteDayBetween(month.atDay(1), month.atEndOfMonth())) {
+            commutes.forEach(commute -> {
+                CommuteMonthlySummary summary = byEmployee.computeIfAbsent(commute.getEmployeeId(),
+                        employeeId -> empty(employeeId, commute.getEmployeeName(), month));
+                add(summary, commute, commute.getEndTime());
+                entityManager.detach(commute);
+            });
+        }
+
+        int written = 0;
+        for (CommuteMonthlySummary summary : byEmployee.values()) {
+            entityManager.persist(summary);
+            if (++written % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return written;
+    }
+
+    private CommuteMonthlySummary compute(String employeeId, String employeeName, YearMonth month) {
+        CommuteMonthlySummary summary = empty(employeeId, employeeName, month);
+        for (Commute commute : commuteRepository.findByEmployeeIdAndCommuteDayBetween(employeeId, month.atDay(1), month.atEndOfMonth())) {
+            add(summary, commute, commute.getEndTime());
+        }
+        return summary;
+    }
+
+    private void add(CommuteMonthlySummary summary, Commute commute, LocalTime endTime) {
+        if (commute.getStartTime() == null || endTime == null) {
+            return;
+        }
+        summary.setDaysWorked(summary.getDaysWorked() + 1);
+        summary.setTotalMinutes(summary.getTotalMinutes() + minutesWorked(commute.getStartTime(), endTime));
+        if (commute.getStartTime().isAfter(lateAfter)) {
+            summary.setLateCount(summary.getLateCount() + 1);
+        }
+    }
+
+    private void subtract(CommuteMonthlySummary summary, Commute commute, LocalTime endTime) {
+        if (commute.getStartTime() == null) {
+            return;
+        }
+        summary.setDaysWorked(Math.max(0, summary.getDaysWorked() - 1));
+        summary.setTotalMinutes(Math.max(0, summary.getTotalMinutes() - minutesWorked(commute.getStartTime(), endTime)));
+        if (commute.getStartTime().isAfter(lateAfter)) {
+            summary.setLateCount(Math.max(0, summary.getLateCount() - 1));
+        }
+    }
+
+    private static boolean isClosed(Commute commute) {
+        return commute.getStartTime() != null && commute.getEndTime() != null;
+    }
+
+    // 자정을 넘긴 퇴근은 다음 날 시각으로 계산
+    static long minutesWorked(LocalTime startTime, LocalTime endTime) {
+        long minutes = Duration.between(startTime, endTime).toMinutes();
+        return minutes < 0 ? minutes + MINUTES_PER_DAY : minutes;
+    }
+
+    private static CommuteMonthlySummary empty(String employeeId, String employeeName, YearMonth month) {
+        CommuteMonthlySummary summary = new CommuteMonthlySummary();
+        summary.setEmployeeId(employeeId);
+        summary.setEmployeeName(employeeName);
+        summary.setSummaryMonth(month.toString());
+        return summary;
+    }
+
+    private static CommuteMonthlySummaryId idOf(String employeeId, YearMonth month) {
+        CommuteMonthlySummaryId id = new CommuteMonthlySummaryId();
+        id.setEmployeeId(employeeId);
+        id.setSummaryMonth(month.toString());
+        return id;
+    }
+}
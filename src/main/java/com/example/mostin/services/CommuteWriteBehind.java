@@ -0,0 +1,367 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Commute;
+import com.example.mostin.models.CommuteId;
+import com.example.mostin.repositories.CommuteRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Optional write-behind for clock-ins ({@code mostin.commute.write-behind.enabled=true}).
+ *
+ * A clock-in is acknowledged once its JSON line is appended and fsynced to the active journal segment.
+ * A background task rotates the segment every {@code flush-interval-ms} and writes sealed segments to the
+ * commute table in chunks of {@code batch-size}, deleting each segment only after its transaction commits.
+ * Segments left over from a crash are replayed on startup before new clock-ins are accepted. A journaled clock-in
+ * writes the same row a synchronous save would: an existing row gets the new start time and workplace and its end
+ * time is cleared. Replay cannot undo a later clock-out, because clock-out waits in {@link #flushIfPending} until
+ * the segment holding the clock-in has been deleted. Reopening a closed row takes its day back out of the month
+ * summary in the same transaction, as {@link CommuteSummaryService#saveCommute} does in synchronous mode.
+ *
+ * Clock-ins for an unknown employeeId/employeeName pair are rejected before they are journaled. A row that the
+ * database still refuses (e.g. the employee was deleted in between) is retried on its own and then moved to
+ * {@value #DEAD_LETTER_FILE} in the journal directory, so one bad row never blocks the segment it arrived in. Its
+ * acknowledgement is withdrawn from the attendance board and the idempotency cache at the same time.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "mostin.commute.write-behind.enabled", havingValue = "true")
+public class CommuteWriteBehind {
+
+    private static final String SEGMENT_PREFIX = "commute-";
+    private static final String SEGMENT_SUFFIX = ".ndjson";
+    static final String DEAD_LETTER_FILE = "dead-letter.ndjson";
+
+    private final CommuteRepository commuteRepository;
+    private final EmployeeCache employeeCache;
+    private final AttendanceBoard attendanceBoard;
+    private final IdempotencyCache idempotencyCache;
+    private final CommuteSummaryService commuteSummaryService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+
+    // 아직 DB에 반영되지 않은 출근 기록
+    private final Map<CommuteId, Commute> pending = new ConcurrentHashMap<>();
+    private final Object journalLock = new Object();
+    private final Object flushLock = new Object();
+
+    private ScheduledExecutorService flusher;
+    private FileChannel active;
+    private long activeSequence;
+
+    @Autowired
+    public CommuteWriteBehind(CommuteRepository commuteRepository,
+                              EmployeeCache employeeCache,
+                              AttendanceBoard attendanceBoard,
+                              IdempotencyCache idempotencyCache,
+                              CommuteSummaryService commuteSummaryService,
+                              EntityManager entityManager,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${mostin.commute.write-behind.dir:./data/commute-journal}") String directory,
+                              @Value("${mostin.commute.write-behind.batch-size:200}") int batchSize,
+                              @Value("${mostin.commute.write-behind.flush-interval-ms:500}") long flushIntervalMillis) {
+        this.commuteRepository = commuteRepository;
+        this.employeeCache = employeeCache;
+        this.attendanceBoard = attendanceBoard;
+        this.idempotencyCache = idempotencyCache;
+        this.commuteSummaryService = commuteSummaryService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = Paths.get(directory);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> leftovers = segments();
+        if (!leftovers.isEmpty()) {
+            log.info("Replaying {} commute journal segment(s) from {}", leftovers.size(), directory);
+        }
+        activeSequence = leftovers.isEmpty() ? 0 : sequenceOf(leftovers.get(leftovers.size() - 1));
+        flushSealed(leftovers);
+        openNextSegment();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "commute-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flushQuietly();
+        synchronized (journalLock) {
+            active.close();
+        }
+    }
+
+    /**
+     * Journals the clock-in and returns it once the line is on disk. The row reaches the database on the next flush.
+     *
+     * @throws IllegalArgumentException if no employee has this employeeId and employeeName
+     */
+    public Commute submit(Commute commute) {
+        // 응답한 뒤에는 되돌릴 수 없으므로 FK에 걸릴 기록은 저널에 넣기 전에 거부
+        boolean known = employeeCache.find(commute.getEmployeeId())
+                .map(entry -> Objects.equals(entry.view().employeeName(), commute.getEmployeeName()))
+                .orElse(false);
+        if (!known) {
+            throw new IllegalArgumentException("Unknown employee");
+        }
+        byte[] line = lineOf(commute);
+        synchronized (journalLock) {
+            try {
+                append(active, line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pending.put(idOf(commute), commute);
+        }
+        return commute;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes everything journaled so far if this employee's clock-in for the day has not reached the table yet.
+     * Call it before updating that row directly, so the update cannot race the flusher's insert of the same key.
+     */
+    public void flushIfPending(String employeeId, LocalDate commuteDay) {
+        CommuteId id = new CommuteId();
+        id.setEmployeeId(employeeId);
+        id.setCommuteDay(commuteDay);
+        // pending에서 빠지는 시점은 커밋 이후이므로 없으면 이미 테이블에 있음
+        if (pending.containsKey(id)) {
+            flushNow();
+        }
+    }
+
+    /**
+     * Writes everything journaled so far if any clock-in of this employee has not reached the table yet. Call it
+     * before deleting the employee, so the bulk DELETE also removes those rows instead of the flusher failing on
+     * them afterwards.
+     */
+    public void flushIfPending(String employeeId) {
+        if (pending.keySet().stream().anyMatch(id -> id.getEmployeeId().equals(employeeId))) {
+            flushNow();
+        }
+    }
+
+    /** Seals the active segment and writes everything journaled so far. */
+    public void flushNow() {
+        synchronized (flushLock) {
+            rotate();
+            flushSealed(segments());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flushNow();
+        } catch (RuntimeException e) {
+            // 세그먼트는 그대로 남아 있으므로 다음 주기에 다시 시도
+            log.warn("Commute write-behind flush failed; will retry", e);
+        }
+    }
+
+    private void rotate() {
+        synchronized (journalLock) {
+            try {
+                if (active.size() == 0) {
+                    return;
+                }
+                active.close();
+                openNextSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        activeSequence++;
+        active = FileChannel.open(directory.resolve(SEGMENT_PREFIX + String.format("%012d", activeSequence) + SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void flushSealed(List<Path> segments) {
+        for (Path segment : segments) {
+            if (active != null && sequenceOf(segment) == activeSequence) {
+                continue;
+            }
+            List<Commute> rows = read(segment);
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                write(rows.subList(from, Math.min(from + batchSize, rows.size())));
+            }
+            try {
+                Files.delete(segment);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows.forEach(row -> pending.remove(idOf(row), row));
+        }
+    }
+
+    private void write(List<Commute> chunk) {
+        // 같은 키가 여러 번 들어온 경우 마지막 출근 기록만 반영
+        Map<CommuteId, Commute> latest = new LinkedHashMap<>();
+        chunk.forEach(row -> latest.put(idOf(row), row));
+
+        try {
+            writeInTransaction(latest);
+        } catch (DataIntegrityViolationException e) {
+            // 한 행 때문에 묶음 전체가 실패한 경우: 한 행씩 다시 쓰고 그래도 거부되는 행만 dead-letter로 이동
+            // (DB 장애 같은 다른 예외는 그대로 던져 세그먼트를 남기고 다음 주기에 재시도)
+            latest.forEach((id, row) -> {
+                try {
+                    writeInTransaction(Map.of(id, row));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    deadLetter(row, rowFailure);
+                }
+            });
+        }
+    }
+
+    private void writeInTransaction(Map<CommuteId, Commute> latest) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<CommuteId, Commute> existing = new LinkedHashMap<>();
+            commuteRepository.findAllById(latest.keySet()).forEach(row -> existing.put(idOf(row), row));
+            latest.forEach((id, row) -> {
+                Commute current = existing.get(id);
+                if (current == null) {
+                    entityManager.persist(row);
+                } else {
+                    // 동기 모드의 save와 같은 행이 되도록 재출근이면 퇴근 시각을 비움
+                    Commute before = AttendanceBoard.copyOf(current);
+                    current.setStartTime(row.getStartTime());
+                    current.setWorkPlaceName(row.getWorkPlaceName());
+                    current.setEndTime(null);
+                    commuteSummaryService.apply(before, current);
+                }
+            });
+        });
+    }
+
+    private void deadLetter(Commute row, RuntimeException cause) {
+        log.error("Moving unwritable clock-in of {} on {} to {}", row.getEmployeeId(), row.getCommuteDay(),
+                directory.resolve(DEAD_LETTER_FILE), cause);
+        try (FileChannel deadLetters = FileChannel.open(directory.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            append(deadLetters, lineOf(row));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // 이미 응답한 출근이지만 저장되지 않았으므로 보드와 재시도 응답에서 제거해 다시 출근할 수 있게 함
+        attendanceBoard.remove(row.getEmployeeId(), row.getCommuteDay());
+        CommuteId id = idOf(row);
+        idempotencyCache.evictIf(value -> value instanceof Commute stored && idOf(stored).equals(id));
+    }
+
+    private byte[] lineOf(Commute commute) {
+        try {
+            return (objectMapper.writeValueAsString(commute) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void append(FileChannel channel, byte[] line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    private List<Commute> read(Path segment) {
+        List<Commute> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    rows.add(objectMapper.readValue(line, Commute.class));
+                } catch (JsonProcessingException e) {
+                    // 기록 도중 종료되어 잘린 마지막 줄은 응답되지 않은 요청이므로 버림
+                    log.warn("Skipping unreadable line in {}", segment);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static CommuteId idOf(Commute commute) {
+        CommuteId id = new CommuteId();
+        id.setCommuteDay(commute.getCommuteDay());
+        id.setEmployeeId(commute.getEmployeeId());
+        return id;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.mostin.services;
+
+import com.example.mostin.dto.EmployeeView;
+import com.example.mostin.models.Employee;
+import com.example.mostin.repositories.EmployeeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded read-through cache of employees keyed by employeeId.
+ *
+ * Entries hold an {@link EmployeeView} and the password fingerprint used by login tokens, never the password
+ * hash itself. Unknown ids are not cached. Every committed write to an employee must call {@link #invalidate};
+ * a load that races with it finishes before the invalidation removes its result, so no stale row survives.
+ */
+@Component
+public class EmployeeCache {
+
+    private final EmployeeRepository employeeRepository;
+    private final Cache<String, Entry> cache;
+
+    @Autowired
+    public EmployeeCache(EmployeeRepository employeeRepository,
+                         @Value("${mostin.employee-cache.max-entries:10000}") long maxEntries,
+                         @Value("${mostin.employee-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.employeeRepository = employeeRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Entry> find(String employeeId) {
+        if (employeeId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(employeeId, id -> employeeRepository.findByEmployeeId(id)
+                .map(Entry::of)
+                .orElse(null)));
+    }
+
+    public void invalidate(String employeeId) {
+        if (employeeId != null) {
+            cache.invalidate(employeeId);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public Stats stats() {
+        CacheStats stats = cache.stats();
+        return new Stats(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(),
+                cache.estimatedSize());
+    }
+
+    public record Entry(EmployeeView view, String passwordFingerprint) {
+
+        static Entry of(Employee employee) {
+            return new Entry(EmployeeView.of(employee), LoginTokenService.fingerprint(employee.getEmployeePwd()));
+        }
+    }
+
+    public record Stats(long hits, long misses, double hitRate, long evictions, long size) {
+    }
+}
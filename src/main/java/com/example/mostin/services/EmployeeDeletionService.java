@@ -0,0 +1,62 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Employee;
+import com.example.mostin.repositories.CommuteMonthlySummaryRepository;
+import com.example.mostin.repositories.CommuteRepository;
+import com.example.mostin.repositories.EmployeeRepository;
+import com.example.mostin.repositories.OrderingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Deletes an employee together with everything that references them, without loading the rows first.
+ *
+ * {@code employeeRepository.delete} cascades through {@code Employee.commutes} and {@code Employee.orders}, which
+ * loads every commute and order line into the persistence context and deletes them one statement at a time. Here
+ * each table gets a single set-based DELETE instead, children before the employee so the foreign keys are never
+ * violated, all in one transaction. With write-behind enabled the caller first flushes the employee's journaled
+ * clock-ins ({@link CommuteWriteBehind#flushIfPending(String)}) so they are deleted here too.
+ */
+@Service
+public class EmployeeDeletionService {
+
+    private final EmployeeRepository employeeRepository;
+    private final CommuteRepository commuteRepository;
+    private final OrderingRepository orderingRepository;
+    private final CommuteMonthlySummaryRepository commuteMonthlySummaryRepository;
+
+    @Autowired
+    public EmployeeDeletionService(EmployeeRepository employeeRepository,
+                                   CommuteRepository commuteRepository,
+                                   OrderingRepository orderingRepository,
+                                   CommuteMonthlySummaryRepository commuteMonthlySummaryRepository) {
+        this.employeeRepository = employeeRepository;
+        this.commuteRepository = commuteRepository;
+        this.orderingRepository = orderingRepository;
+        this.commuteMonthlySummaryRepository = commuteMonthlySummaryRepository;
+    }
+
+    /** The number of rows removed from each table, or empty if there is no employee with this id. */
+    @Transactional
+    public Optional<Result> delete(String employeeId) {
+        Optional<Employee> found = employeeRepository.findByEmployeeId(employeeId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        // 컬렉션은 건드리지 않고 이름만 꺼내서 사용
+        String employeeName = found.get().getEmployeeName();
+
+        int commutes = commuteRepository.deleteByEmployeeIdAndEmployeeName(employeeId, employeeName);
+        int orders = orderingRepository.deleteByEmployeeIdAndEmployeeName(employeeId, employeeName);
+        int monthlySummaries = commuteMonthlySummaryRepository.deleteByEmployeeId(employeeId);
+        int employees = employeeRepository.deleteByEmployeeIdAndEmployeeName(employeeId, employeeName);
+        return Optional.of(new Result(employeeId, employeeName, commutes, orders, monthlySummaries, employees));
+    }
+
+    public record Result(String employeeId, String employeeName, int commutes, int orders,
+                         int monthlySummaries, int employees) {
+    }
+}
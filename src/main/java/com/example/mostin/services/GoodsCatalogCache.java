@@ -0,0 +1,138 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Goods;
+import com.example.mostin.repositories.GoodsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read-through, server-owned copy of the goods catalog.
+ *
+ * The whole catalog is loaded with one query on the first lookup after an invalidation and kept as an
+ * immutable snapshot: a barcode map for scans and a name-sorted array for prefix search. Every write to
+ * goods must call {@link #invalidate()} once it has committed.
+ */
+@Component
+public class GoodsCatalogCache {
+
+    private static final Comparator<Goods> BY_NAME = Comparator.comparing(Goods::getGoodsName)
+            .thenComparing(Goods::getBarcode);
+
+    private final GoodsRepository goodsRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Object loadLock = new Object();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public GoodsCatalogCache(GoodsRepository goodsRepository) {
+        this.goodsRepository = goodsRepository;
+    }
+
+    public List<Goods> findByBarcode(String barcode) {
+        return current().byBarcode.getOrDefault(barcode, List.of());
+    }
+
+    public List<Goods> searchByNamePrefix(String prefix, int limit) {
+        Goods[] byName = current().byName;
+        int from = lowerBound(byName, prefix);
+        List<Goods> result = new ArrayList<>();
+        for (int i = from; i < byName.length && result.size() < limit; i++) {
+            if (!byName[i].getGoodsName().startsWith(prefix)) {
+                break;
+            }
+            result.add(byName[i]);
+        }
+        return result;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        if (snapshot.getAndSet(null) != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    public Stats stats() {
+        Snapshot loaded = snapshot.get();
+        int size = loaded != null && loaded.generation == generation.get() ? loaded.byName.length : 0;
+        return new Stats(hits.get(), misses.get(), evictions.get(), size);
+    }
+
+    private Snapshot current() {
+        Snapshot loaded = snapshot.get();
+        if (loaded != null && loaded.generation == generation.get()) {
+            hits.incrementAndGet();
+            return loaded;
+        }
+        misses.incrementAndGet();
+        synchronized (loadLock) {
+            loaded = snapshot.get();
+            if (loaded != null && loaded.generation == generation.get()) {
+                return loaded;
+            }
+            // A snapshot built while a write invalidates us keeps the old generation and is never served as a hit
+            long loadGeneration = generation.get();
+            Snapshot fresh = Snapshot.of(loadGeneration, goodsRepository.findAll());
+            snapshot.set(fresh);
+            return fresh;
+        }
+    }
+
+    private static int lowerBound(Goods[] byName, String prefix) {
+        int low = 0;
+        int high = byName.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byName[mid].getGoodsName().compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+
+    private static final class Snapshot {
+        private final long generation;
+        private final Map<String, List<Goods>> byBarcode;
+        private final Goods[] byName;
+
+        private Snapshot(long generation, Map<String, List<Goods>> byBarcode, Goods[] byName) {
+            this.generation = generation;
+            this.byBarcode = byBarcode;
+            this.byName = byName;
+        }
+
+        static Snapshot of(long generation, List<Goods> goods) {
+            Goods[] byName = goods.stream()
+                    .filter(g -> g.getBarcode() != null && g.getGoodsName() != null)
+                    .toArray(Goods[]::new);
+            Arrays.sort(byName, BY_NAME);
+
+            Map<String, List<Goods>> grouped = new HashMap<>(byName.length * 2);
+            for (Goods g : byName) {
+                grouped.computeIfAbsent(g.getBarcode(), key -> new ArrayList<>(1)).add(g);
+            }
+            Map<String, List<Goods>> byBarcode = new HashMap<>(grouped.size() * 2);
+            grouped.forEach((barcode, list) -> byBarcode.put(barcode, List.copyOf(list)));
+            return new Snapshot(generation, byBarcode, byName);
+        }
+    }
+}
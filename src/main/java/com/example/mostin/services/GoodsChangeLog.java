@@ -0,0 +1,106 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Goods;
+import com.example.mostin.models.GoodsId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Ordered log of goods upserts and deletes, keyed by the goods catalog version each write produced.
+ *
+ * Recording a change is what advances {@link CatalogVersions#goods()}, so the ETag on the list endpoint and
+ * the {@code since} cursor of the delta endpoint are the same number. The log is compacted in two ways:
+ * only the newest entry per {@link GoodsId} is kept, and once more than {@code maxEntries} remain the
+ * oldest are dropped. Clients whose version predates a dropped entry are told to resync in full.
+ * Bulk writes call {@link #recordResync()} instead of logging every row.
+ */
+@Component
+public class GoodsChangeLog {
+
+    public enum ChangeType {
+        UPSERT,
+        DELETE
+    }
+
+    private final CatalogVersions catalogVersions;
+    private final int maxEntries;
+
+    private final NavigableMap<Long, Change> entries = new TreeMap<>();
+    private final Map<GoodsId, Long> latestByKey = new HashMap<>();
+    private long floor;
+
+    @Autowired
+    public GoodsChangeLog(CatalogVersions catalogVersions,
+                          @Value("${mostin.goods.change-log.max-entries:10000}") int maxEntries) {
+        this.catalogVersions = catalogVersions;
+        this.maxEntries = maxEntries;
+        this.floor = catalogVersions.goods();
+    }
+
+    public synchronized long recordUpsert(Goods goods) {
+        return append(ChangeType.UPSERT, goods);
+    }
+
+    public synchronized long recordDelete(Goods goods) {
+        return append(ChangeType.DELETE, goods);
+    }
+
+    // 대량 변경은 행마다 기록하지 않고 로그를 비워 이전 버전의 클라이언트가 전체를 다시 받게 한다
+    public synchronized long recordResync() {
+        long version = catalogVersions.bumpGoods();
+        entries.clear();
+        latestByKey.clear();
+        floor = version;
+        return version;
+    }
+
+    public synchronized Changes changesSince(long since) {
+        long current = catalogVersions.goods();
+        if (since < floor || since > current) {
+            return new Changes(current, true, List.of());
+        }
+        return new Changes(current, false, new ArrayList<>(entries.tailMap(since, false).values()));
+    }
+
+    private long append(ChangeType type, Goods goods) {
+        long version = catalogVersions.bumpGoods();
+        GoodsId key = new GoodsId();
+        key.setBarcode(goods.getBarcode());
+        key.setGoodsName(goods.getGoodsName());
+
+        Long previous = latestByKey.put(key, version);
+        if (previous != null) {
+            entries.remove(previous);
+        }
+        entries.put(version, new Change(version, type, goods.getBarcode(), goods.getGoodsName()));
+
+        while (entries.size() > maxEntries) {
+            Map.Entry<Long, Change> oldest = entries.pollFirstEntry();
+            floor = oldest.getKey();
+            Change dropped = oldest.getValue();
+            GoodsId droppedKey = new GoodsId();
+            droppedKey.setBarcode(dropped.barcode());
+            droppedKey.setGoodsName(dropped.goodsName());
+            latestByKey.remove(droppedKey, oldest.getKey());
+        }
+        return version;
+    }
+
+    public record Change(long version, ChangeType type, String barcode, String goodsName) {
+    }
+
+    /**
+     * {@code fullResync} means the requested version is older than the retained log (or from another
+     * server run) and the client must reload GET /api/goods instead of applying {@code changes}.
+     */
+    public record Changes(long version, boolean fullResync, List<Change> changes) {
+    }
+}
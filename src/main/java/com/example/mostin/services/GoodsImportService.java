@@ -0,0 +1,212 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Goods;
+import com.example.mostin.models.GoodsId;
+import com.example.mostin.repositories.GoodsRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk goods import from a JSON array or a "barcode,goodsName" CSV.
+ *
+ * Input is read one row at a time and written in chunks of {@code batchSize}: each chunk costs one
+ * {@code barcode IN (...)} query to find rows that already exist and one JDBC batch of inserts, after which
+ * the persistence context is cleared, so memory use is bounded by the chunk rather than the file. The whole
+ * import is one transaction; the catalog cache and change log are only updated after it commits, and the
+ * change log gets a single resync marker per import rather than one entry per row.
+ */
+@Service
+public class GoodsImportService {
+
+    private static final String CSV_HEADER = "barcode,goodsname";
+
+    private final ObjectMapper objectMapper;
+    private final GoodsRepository goodsRepository;
+    private final GoodsCatalogCache goodsCatalogCache;
+    private final GoodsChangeLog goodsChangeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public GoodsImportService(ObjectMapper objectMapper,
+                              GoodsRepository goodsRepository,
+                              GoodsCatalogCache goodsCatalogCache,
+                              GoodsChangeLog goodsChangeLog,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${mostin.goods.import.batch-size:500}") int batchSize) {
+        this.objectMapper = objectMapper;
+        this.goodsRepository = goodsRepository;
+        this.goodsCatalogCache = goodsCatalogCache;
+        this.goodsChangeLog = goodsChangeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public Result importJson(InputStream in) {
+        return runImport(batch -> {
+            try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("Expected a JSON array of goods");
+                }
+                JsonToken token;
+                while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                    batch.add(parser.readValueAs(Goods.class));
+                }
+                // 배열 중간에 객체가 아닌 원소가 있으면 앞 청크까지 저장하지 않도록 트랜잭션을 롤백한다
+                if (token != JsonToken.END_ARRAY) {
+                    throw new IllegalArgumentException("Expected a JSON array of goods objects");
+                }
+            }
+        });
+    }
+
+    public Result importCsv(InputStream in) {
+        return runImport(batch -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            boolean first = true;
+            while ((line = reader.readLine()) != null) {
+                if (first) {
+                    line = line.replace("\uFEFF", "");
+                    first = false;
+                    if (line.replace(" ", "").equalsIgnoreCase(CSV_HEADER)) {
+                        continue;
+                    }
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(parseCsvLine(line));
+            }
+        });
+    }
+
+    private Result runImport(RowSource source) {
+        ImportBatch batch = new ImportBatch();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            try {
+                source.readInto(batch);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            batch.flush();
+        });
+
+        if (batch.inserted > 0) {
+            goodsCatalogCache.invalidate();
+            goodsChangeLog.recordResync();
+        }
+        return new Result(batch.inserted, batch.alreadyPresent, batch.duplicates, batch.invalid);
+    }
+
+    // barcode는 쉼표를 포함하지 않으므로 첫 번째 쉼표를 기준으로 나눈다
+    static Goods parseCsvLine(String line) {
+        Goods goods = new Goods();
+        int comma = line.indexOf(',');
+        if (comma < 0) {
+            goods.setBarcode(unquote(line.trim()));
+            return goods;
+        }
+        goods.setBarcode(unquote(line.substring(0, comma).trim()));
+        goods.setGoodsName(unquote(line.substring(comma + 1).trim()));
+        return goods;
+    }
+
+    private static String unquote(String field) {
+        if (field.length() >= 2 && field.startsWith("\"") && field.endsWith("\"")) {
+            return field.substring(1, field.length() - 1).replace("\"\"", "\"");
+        }
+        return field;
+    }
+
+    private static GoodsId keyOf(Goods goods) {
+        GoodsId id = new GoodsId();
+        id.setBarcode(goods.getBarcode());
+        id.setGoodsName(goods.getGoodsName());
+        return id;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        void readInto(ImportBatch batch) throws IOException;
+    }
+
+    private final class ImportBatch {
+        private final Map<GoodsId, Goods> pending = new LinkedHashMap<>();
+        private int inserted;
+        private int alreadyPresent;
+        private int duplicates;
+        private int invalid;
+
+        void add(Goods goods) {
+            if (isBlank(goods.getBarcode()) || isBlank(goods.getGoodsName())) {
+                invalid++;
+                return;
+            }
+            if (pending.putIfAbsent(keyOf(goods), goods) != null) {
+                duplicates++;
+                return;
+            }
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Set<String> barcodes = pending.values().stream().map(Goods::getBarcode).collect(Collectors.toSet());
+            Set<GoodsId> existing = goodsRepository.findByBarcodeIn(barcodes).stream()
+                    .map(GoodsImportService::keyOf)
+                    .collect(Collectors.toSet());
+            for (Map.Entry<GoodsId, Goods> row : pending.entrySet()) {
+                if (existing.contains(row.getKey())) {
+                    alreadyPresent++;
+                    continue;
+                }
+                entityManager.persist(row.getValue());
+                inserted++;
+            }
+            entityManager.flush();
+            entityManager.clear();
+            pending.clear();
+        }
+    }
+
+    /**
+     * Goods rows consist only of their key, so a row that already exists has nothing to update and is
+     * counted in {@code alreadyPresent}; {@code duplicates} are repeats within the same chunk. A repeat that
+     * lands in a later chunk finds the row the earlier chunk inserted and is counted in {@code alreadyPresent}.
+     */
+    public record Result(int inserted, int alreadyPresent, int duplicates, int invalid) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.mostin.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads Hibernate's second-level and query cache counters for the regions configured in hibernate-cache.conf.
+ * Counters are cumulative since startup; {@code statements} is the number of JDBC statements prepared, i.e. the
+ * database round trips the caches did not save.
+ */
+@Component
+public class HibernateCacheStats {
+
+    static final List<String> ENTITY_REGIONS = List.of("employee", "work_place", "goods");
+    static final String QUERY_REGION = "default-query-results-region";
+
+    private final Statistics statistics;
+
+    @Autowired
+    public HibernateCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public Snapshot snapshot() {
+        // 캐시가 꺼져 있으면 영역이 없으므로 존재하는 영역만 조회
+        Set<String> known = Set.of(statistics.getSecondLevelCacheRegionNames());
+        Map<String, Region> regions = new LinkedHashMap<>();
+        for (String region : ENTITY_REGIONS) {
+            regions.put(region, Region.of(known.contains(region) ? statistics.getDomainDataRegionStatistics(region) : null));
+        }
+        return new Snapshot(statistics.isStatisticsEnabled(),
+                statistics.getPrepareStatementCount(),
+                regions,
+                Region.of(known.contains(QUERY_REGION) ? statistics.getQueryRegionStatistics(QUERY_REGION) : null));
+    }
+
+    public record Snapshot(boolean enabled, long statements, Map<String, Region> entities, Region queries) {
+    }
+
+    public record Region(long hits, long misses, long puts, double hitRate, long size) {
+
+        static Region of(CacheRegionStatistics stats) {
+            if (stats == null) {
+                return new Region(0, 0, 0, 0, 0);
+            }
+            long hits = stats.getHitCount();
+            long misses = stats.getMissCount();
+            long size = stats.getElementCountInMemory();
+            // JCache는 메모리 내 개수를 제공하지 않으면 음수를 반환
+            return new Region(hits, misses, stats.getPutCount(),
+                    hits + misses == 0 ? 0 : (double) hits / (hits + misses),
+                    size < 0 ? -1 : size);
+        }
+    }
+}
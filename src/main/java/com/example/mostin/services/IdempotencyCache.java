@@ -0,0 +1,104 @@
+package com.example.mostin.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Remembers the response of recent clock-in/out calls so client retries are answered without a database round trip.
+ *
+ * Each response is stored with the request that produced it. A key that comes back with a different request is a
+ * client bug, not a retry, and {@link Replay#matches} lets the caller refuse it instead of replaying.
+ * Entries live for {@code ttlSeconds} and at most {@code maxEntries} are kept; the map is in insertion order, so
+ * both expiry and overflow evict from the head. Only successful responses should be stored, and a response whose
+ * write is later given up on should be withdrawn with {@link #evictIf} so a retry runs again.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>();
+    private long hits;
+    private long misses;
+
+    @Autowired
+    public IdempotencyCache(@Value("${mostin.idempotency.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${mostin.idempotency.max-entries:10000}") int maxEntries) {
+        this(ttlSeconds, maxEntries, System::nanoTime);
+    }
+
+    IdempotencyCache(long ttlSeconds, int maxEntries, LongSupplier clock) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /** The stored request and response for {@code key}, or null if there is none or it has expired. */
+    public synchronized Replay get(Object key) {
+        long now = clock.getAsLong();
+        evictExpired(now);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.replay();
+    }
+
+    public synchronized void put(Object key, Object request, Object response) {
+        long now = clock.getAsLong();
+        evictExpired(now);
+        // 재삽입 시 만료 시각이 갱신되도록 뒤로 보냄
+        entries.remove(key);
+        entries.put(key, new Entry(new Replay(request, response), now + ttlNanos));
+        while (entries.size() > maxEntries) {
+            Iterator<Object> oldest = entries.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    /** Drops every stored response matching {@code response}; returns how many were dropped. */
+    public synchronized int evictIf(Predicate<Object> response) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> response.test(entry.replay().response()));
+        return before - entries.size();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, entries.size());
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<Object, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext() && it.next().getValue().expiresAt() - now <= 0) {
+            it.remove();
+        }
+    }
+
+    private record Entry(Replay replay, long expiresAt) {
+    }
+
+    public record Replay(Object request, Object response) {
+
+        /** Whether {@code request} is the one this response was stored for; request DTOs compare by value. */
+        public boolean matches(Object request) {
+            return Objects.equals(this.request, request);
+        }
+    }
+
+    public record Stats(long hits, long misses, int size) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Commute;
+import com.example.mostin.models.EmployeeId;
+import com.example.mostin.repositories.CommuteRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * Pointer to each employee's most recent commute, so /api/commute/recent is a map read after the first call.
+ *
+ * A miss costs one top-1 query on idx_commute_employee_recent. Clock-ins and clock-outs only replace a cached
+ * entry when they are at least as recent, so a back-dated clock-in never hides a newer commute. Recording never
+ * queries: an employee that is not cached yet gets an entry marked as not merged with the database, and the next
+ * {@link #find} runs the query once and keeps the newer of the two, so a read before a write-behind flush cannot
+ * pin the older database row. At most {@code maxEntries} employees are kept. Returned commutes are copies.
+ */
+@Component
+public class LastCommuteCache {
+
+    private static final Comparator<Commute> RECENCY = Comparator.comparing(Commute::getCommuteDay)
+            .thenComparing(Commute::getStartTime, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final CommuteRepository commuteRepository;
+    private final Cache<EmployeeId, Entry> latest;
+
+    @Autowired
+    public LastCommuteCache(CommuteRepository commuteRepository,
+                            @Value("${mostin.last-commute-cache.max-entries:10000}") long maxEntries) {
+        this.commuteRepository = commuteRepository;
+        this.latest = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public Optional<Commute> find(String employeeId, String employeeName) {
+        EmployeeId key = keyOf(employeeId, employeeName);
+        Entry cached = latest.getIfPresent(key);
+        if (cached != null && cached.merged()) {
+            return Optional.of(AttendanceBoard.copyOf(cached.commute()));
+        }
+        Optional<Commute> loaded = commuteRepository
+                .findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc(employeeId, employeeName)
+                .map(AttendanceBoard::copyOf);
+        // 조회 중에 기록된 출근이 있으면 그쪽과 비교해서 더 최근 것을 유지
+        Entry merged = latest.asMap().compute(key, (k, current) -> {
+            if (current == null) {
+                return loaded.map(commute -> new Entry(commute, true)).orElse(null);
+            }
+            Commute commute = loaded.map(stored -> newer(stored, current.commute())).orElse(current.commute());
+            return new Entry(commute, true);
+        });
+        return Optional.ofNullable(merged).map(entry -> AttendanceBoard.copyOf(entry.commute()));
+    }
+
+    /** Moves the pointer to {@code commute} if it is at least as recent as what is cached. Never queries. */
+    public void record(Commute commute) {
+        EmployeeId key = keyOf(commute.getEmployeeId(), commute.getEmployeeName());
+        Entry candidate = new Entry(AttendanceBoard.copyOf(commute), false);
+        // 캐시에 없던 직원은 DB와 비교하지 않은 상태로 두고 다음 조회에서 합침
+        latest.asMap().merge(key, candidate,
+                (current, recorded) -> new Entry(newer(current.commute(), recorded.commute()), current.merged()));
+    }
+
+    public void evict(String employeeId, String employeeName) {
+        latest.invalidate(keyOf(employeeId, employeeName));
+    }
+
+    private static Commute newer(Commute current, Commute candidate) {
+        return RECENCY.compare(candidate, current) >= 0 ? candidate : current;
+    }
+
+    private static EmployeeId keyOf(String employeeId, String employeeName) {
+        EmployeeId key = new EmployeeId();
+        key.setEmployeeId(employeeId);
+        key.setEmployeeName(employeeName);
+        return key;
+    }
+
+    // merged가 false면 아직 DB의 최근 기록과 비교하지 않은 항목
+    private record Entry(Commute commute, boolean merged) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.mostin.services;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * CPU time spent per login request, split by how the caller authenticated.
+ *
+ * Measured with the request thread's CPU clock, so time spent waiting (database, locks, the BCrypt pool) is not
+ * counted; the BCrypt work itself is reported by {@link PasswordHashingService#stats()}. On JVMs
+ * without thread CPU time support wall-clock time is recorded instead and {@code cpuTime} is reported as false.
+ */
+@Component
+public class LoginMetrics {
+
+    public enum Kind {
+        PASSWORD,
+        TOKEN
+    }
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTime;
+    private final Map<Kind, Counter> counters = new EnumMap<>(Kind.class);
+
+    public LoginMetrics() {
+        boolean supported = threads.isCurrentThreadCpuTimeSupported();
+        if (supported && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        this.cpuTime = supported;
+        for (Kind kind : Kind.values()) {
+            counters.put(kind, new Counter());
+        }
+    }
+
+    /** Current reading of the clock used by {@link #record}; pass the difference of two readings. */
+    public long now() {
+        return cpuTime ? threads.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    public void record(Kind kind, long nanos) {
+        Counter counter = counters.get(kind);
+        counter.count.incrementAndGet();
+        counter.totalNanos.addAndGet(nanos);
+        counter.maxNanos.accumulate(nanos);
+    }
+
+    public Snapshot snapshot() {
+        Map<Kind, Stats> stats = new EnumMap<>(Kind.class);
+        counters.forEach((kind, counter) -> {
+            long count = counter.count.get();
+            long total = counter.totalNanos.get();
+            stats.put(kind, new Stats(count, count == 0 ? 0 : total / count / 1000, counter.maxNanos.get() / 1000, total / 1_000_000));
+        });
+        return new Snapshot(cpuTime, stats);
+    }
+
+    private static final class Counter {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    public record Stats(long count, long avgMicros, long maxMicros, long totalMillis) {
+    }
+
+    public record Snapshot(boolean cpuTime, Map<Kind, Stats> logins) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Employee;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived login tokens checked with one HMAC-SHA256 instead of a BCrypt comparison.
+ *
+ * A token is {@code base64url(employeeId).expiresAt.fingerprint.signature}. The fingerprint is derived from the
+ * employee's stored password hash, so changing the password invalidates every token issued before. Without
+ * {@code mostin.auth.token-secret} a random key is generated at startup and tokens do not survive a restart.
+ */
+@Component
+public class LoginTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final LongSupplier epochSeconds;
+    private final ThreadLocal<Mac> mac;
+
+    @Autowired
+    public LoginTokenService(@Value("${mostin.auth.token-secret:}") String secret,
+                             @Value("${mostin.auth.token-ttl-seconds:3600}") long ttlSeconds) {
+        this(secret, ttlSeconds, () -> System.currentTimeMillis() / 1000);
+    }
+
+    LoginTokenService(String secret, long ttlSeconds, LongSupplier epochSeconds) {
+        byte[] keyBytes;
+        if (secret == null || secret.isEmpty()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.epochSeconds = epochSeconds;
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public String issue(Employee employee) {
+        String payload = ENCODER.encodeToString(employee.getEmployeeId().getBytes(StandardCharsets.UTF_8))
+                + "." + (epochSeconds.getAsLong() + ttlSeconds)
+                + "." + fingerprint(employee.getEmployeePwd());
+        return payload + "." + sign(payload);
+    }
+
+    /** Checks signature and expiry only; the caller still has to compare the fingerprint with {@link #isCurrent}. */
+    public Optional<Claims> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 4) {
+            return Optional.empty();
+        }
+        String payload = parts[0] + "." + parts[1] + "." + parts[2];
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, parts[3].getBytes(StandardCharsets.US_ASCII))) {
+            return Optional.empty();
+        }
+        try {
+            long expiresAt = Long.parseLong(parts[1]);
+            if (expiresAt <= epochSeconds.getAsLong()) {
+                return Optional.empty();
+            }
+            String employeeId = new String(DECODER.decode(parts[0]), StandardCharsets.UTF_8);
+            return Optional.of(new Claims(employeeId, expiresAt, parts[2]));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** True if the token was issued for the employee's current password. */
+    public boolean isCurrent(Claims claims, Employee employee) {
+        return claims.employeeId().equals(employee.getEmployeeId())
+                && isCurrent(claims, fingerprint(employee.getEmployeePwd()));
+    }
+
+    /** Same as {@link #isCurrent(Claims, Employee)} for callers that only kept {@link #fingerprint(String)}. */
+    public boolean isCurrent(Claims claims, String passwordFingerprint) {
+        return MessageDigest.isEqual(claims.fingerprint().getBytes(StandardCharsets.US_ASCII),
+                passwordFingerprint.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String sign(String payload) {
+        return ENCODER.encodeToString(mac.get().doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Short digest of a stored password hash; safe to keep in memory in place of the hash itself. */
+    public static String fingerprint(String passwordHash) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(passwordHash).getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(Arrays.copyOf(digest, 9));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Claims(String employeeId, long expiresAt, String fingerprint) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Ordering;
+import com.example.mostin.repositories.OrderingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes a whole order sheet (one employee, one day, many barcodes) in a single transaction.
+ *
+ * The sheet is validated up front, today's existing lines are read with one query, and new or changed lines
+ * go out as one JDBC batch. A line that fails validation is reported and skipped without failing the rest of
+ * the sheet; a line whose barcode was already ordered today replaces the earlier box count, as repeated
+ * POST /api/orders calls always did.
+ */
+@Service
+public class OrderBatchService {
+
+    public static final int MAX_LINES = 500;
+
+    public enum LineStatus {
+        CREATED,
+        UPDATED,
+        REJECTED
+    }
+
+    private final OrderingRepository orderingRepository;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public OrderBatchService(OrderingRepository orderingRepository,
+                             @Value("${mostin.orders.batch-size:100}") int batchSize) {
+        this.orderingRepository = orderingRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public Result submit(OrderSheet sheet, LocalDate orderingDay) {
+        validateSheet(sheet);
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+        Map<String, Ordering> existing = new HashMap<>();
+        for (Ordering ordering : orderingRepository.findByEmployeeIdAndOrderingDay(sheet.employeeId(), orderingDay)) {
+            existing.put(ordering.getBarcode(), ordering);
+        }
+
+        List<LineResult> results = new ArrayList<>(sheet.lines().size());
+        Set<String> seen = new HashSet<>();
+        int created = 0;
+        int updated = 0;
+        int rejected = 0;
+        for (int i = 0; i < sheet.lines().size(); i++) {
+            OrderLine line = sheet.lines().get(i);
+            String problem = validateLine(line, seen);
+            if (problem != null) {
+                results.add(new LineResult(i, line == null ? null : line.barcode(), LineStatus.REJECTED, problem));
+                rejected++;
+                continue;
+            }
+
+            Ordering ordering = existing.get(line.barcode());
+            if (ordering != null) {
+                // 관리 상태 엔티티이므로 flush 시 배치 UPDATE로 반영
+                ordering.setBoxNum(line.boxNum());
+                ordering.setGoodsName(line.goodsName());
+                ordering.setEmployeeName(sheet.employeeName());
+                results.add(new LineResult(i, line.barcode(), LineStatus.UPDATED, null));
+                updated++;
+            } else {
+                ordering = new Ordering();
+                ordering.setOrderingDay(orderingDay);
+                ordering.setEmployeeId(sheet.employeeId());
+                ordering.setEmployeeName(sheet.employeeName());
+                ordering.setBarcode(line.barcode());
+                ordering.setGoodsName(line.goodsName());
+                ordering.setBoxNum(line.boxNum());
+                entityManager.persist(ordering);
+                results.add(new LineResult(i, line.barcode(), LineStatus.CREATED, null));
+                created++;
+            }
+        }
+        entityManager.flush();
+        return new Result(orderingDay, created, updated, rejected, results);
+    }
+
+    private static void validateSheet(OrderSheet sheet) {
+        if (sheet == null || sheet.employeeId() == null || sheet.employeeId().isBlank()) {
+            throw new IllegalArgumentException("employeeId is required");
+        }
+        if (sheet.lines() == null || sheet.lines().isEmpty()) {
+            throw new IllegalArgumentException("Order sheet has no lines");
+        }
+        if (sheet.lines().size() > MAX_LINES) {
+            throw new IllegalArgumentException("Order sheet has more than " + MAX_LINES + " lines");
+        }
+    }
+
+    private static String validateLine(OrderLine line, Set<String> seen) {
+        if (line == null || line.barcode() == null || line.barcode().isBlank()) {
+            return "barcode is required";
+        }
+        if (line.boxNum() == null || line.boxNum() <= 0) {
+            return "boxNum must be positive";
+        }
+        if (!seen.add(line.barcode())) {
+            return "barcode appears more than once in the sheet";
+        }
+        return null;
+    }
+
+    public record OrderSheet(String employeeId, String employeeName, List<OrderLine> lines) {
+    }
+
+    public record OrderLine(String barcode, String goodsName, Integer boxNum) {
+    }
+
+    public record LineResult(int line, String barcode, LineStatus status, String message) {
+    }
+
+    public record Result(LocalDate orderingDay, int created, int updated, int rejected, List<LineResult> lines) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.mostin.services;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Runs BCrypt on a small dedicated pool so a burst of logins cannot occupy every request thread.
+ *
+ * The pool has one thread per core ({@code mostin.auth.hash-threads}) and a bounded queue
+ * ({@code mostin.auth.hash-queue}). The request thread waits for its own result; when the queue is full, or the
+ * result does not arrive within {@code mostin.auth.hash-timeout-ms}, {@link SaturatedException} is thrown and the
+ * caller should answer 503 instead of piling up more work.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final int retryAfterSeconds;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLong totalHashNanos = new AtomicLong();
+
+    @Autowired
+    public PasswordHashingService(BCryptPasswordEncoder passwordEncoder,
+                                  @Value("${mostin.auth.hash-threads:0}") int threads,
+                                  @Value("${mostin.auth.hash-queue:64}") int queueCapacity,
+                                  @Value("${mostin.auth.hash-timeout-ms:5000}") long timeoutMillis,
+                                  @Value("${mostin.auth.hash-retry-after-seconds:1}") int retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public Stats stats() {
+        long done = completed.get();
+        return new Stats(executor.getPoolSize(), executor.getActiveCount(), executor.getQueue().size(), queueCapacity,
+                done, rejected.get(),
+                done == 0 ? 0 : totalWaitNanos.get() / done / 1000,
+                maxWaitNanos.get() / 1000,
+                done == 0 ? 0 : totalHashNanos.get() / done / 1000);
+    }
+
+    private <T> T run(Callable<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                // 큐에서 대기한 시간만 기록 (해시 계산 시간 제외)
+                long waited = System.nanoTime() - submitted;
+                totalWaitNanos.addAndGet(waited);
+                maxWaitNanos.accumulate(waited);
+                try {
+                    return work.call();
+                } finally {
+                    totalHashNanos.addAndGet(System.nanoTime() - submitted - waited);
+                    completed.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new SaturatedException(retryAfterSeconds);
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejected.incrementAndGet();
+            throw new SaturatedException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SaturatedException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public record Stats(int poolSize, int active, int queueDepth, int queueCapacity,
+                        long completed, long rejected, long avgWaitMicros, long maxWaitMicros, long avgHashMicros) {
+    }
+
+    /** The hashing pool is full; the request should be retried after {@link #getRetryAfterSeconds()}. */
+    public static class SaturatedException extends RuntimeException {
+
+        private final int retryAfterSeconds;
+
+        public SaturatedException(int retryAfterSeconds) {
+            super("Password hashing is saturated");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public int getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
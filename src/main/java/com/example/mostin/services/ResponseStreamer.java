@@ -0,0 +1,123 @@
+package com.example.mostin.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes repository streams to the response one row at a time.
+ *
+ * The stream is opened inside a read-only transaction on the async response thread, and every row is
+ * detached once written so the persistence context does not grow with the result. The repository methods
+ * feeding this should carry a fetch size hint; on MySQL the driver only honours it with
+ * {@code useCursorFetch=true} on the JDBC URL.
+ */
+@Component
+public class ResponseStreamer {
+
+    private static final int CSV_BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ResponseStreamer(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> StreamingResponseBody ndjson(Supplier<Stream<T>> rows) {
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<T> stream = rows.get()) {
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    T row = iterator.next();
+                    out.write(objectMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                    entityManager.detach(row);
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Same as {@link #ndjson} but writes RFC 4180 CSV: {@code header} first, then {@code columns} of each row.
+     * Null values are written as empty fields. Text values that a spreadsheet would run as a formula (starting with
+     * {@code = + - @}, tab or carriage return) are prefixed with {@code '}; numbers, dates and times are written as is.
+     */
+    public <T> StreamingResponseBody csv(Supplier<Stream<T>> rows, List<String> header, Function<T, List<?>> columns) {
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+            try (Stream<T> stream = rows.get()) {
+                writeCsvLine(writer, header);
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    T row = iterator.next();
+                    writeCsvLine(writer, columns.apply(row));
+                    entityManager.detach(row);
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value instanceof CharSequence text) {
+                writer.write(csvField(neutralizeFormula(text.toString())));
+            } else if (value != null) {
+                writer.write(csvField(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // 사용자가 입력한 이름 등이 엑셀에서 수식으로 실행되지 않도록 함 (CSV injection)
+    static String neutralizeFormula(String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            return "'" + value;
+        }
+        return value;
+    }
+
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
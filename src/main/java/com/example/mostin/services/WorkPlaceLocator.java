@@ -0,0 +1,50 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.WorkPlace;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.OptionalDouble;
+
+/**
+ * Answers nearest-workplace and geofence questions from the spatial index of the current
+ * {@link WorkPlaceRegistry} snapshot, so queries never touch the database.
+ */
+@Component
+public class WorkPlaceLocator {
+
+    private final WorkPlaceRegistry workPlaceRegistry;
+    private final double geofenceRadiusMeters;
+
+    @Autowired
+    public WorkPlaceLocator(WorkPlaceRegistry workPlaceRegistry,
+                            @Value("${mostin.commute.geofence.radius-meters:0}") double geofenceRadiusMeters) {
+        this.workPlaceRegistry = workPlaceRegistry;
+        this.geofenceRadiusMeters = geofenceRadiusMeters;
+    }
+
+    public List<WorkPlaceSpatialIndex.Neighbor> nearest(double latitude, double longitude, int k) {
+        return workPlaceRegistry.snapshot().index().nearest(latitude, longitude, k);
+    }
+
+    /** True when clock-ins must carry a position within {@code mostin.commute.geofence.radius-meters}. */
+    public boolean geofenceEnabled() {
+        return geofenceRadiusMeters > 0;
+    }
+
+    public double geofenceRadiusMeters() {
+        return geofenceRadiusMeters;
+    }
+
+    /** Distance from the point to the named workplace, or empty if it is not known. */
+    public OptionalDouble distanceTo(String workPlaceName, double latitude, double longitude) {
+        WorkPlace workPlace = workPlaceRegistry.snapshot().index().get(workPlaceName);
+        if (workPlace == null) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(WorkPlaceSpatialIndex.distanceMeters(latitude, longitude,
+                workPlace.getLatitude(), workPlace.getLongitude()));
+    }
+}
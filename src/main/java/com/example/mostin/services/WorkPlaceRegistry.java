@@ -0,0 +1,92 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.WorkPlace;
+import com.example.mostin.repositories.WorkPlaceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Process-wide copy-on-write view of every workplace row.
+ *
+ * Readers take the current {@link Snapshot} without locking and never see a half-applied write; writers build a
+ * new snapshot (rows, name lookup and spatial index) and swap it in. Each snapshot carries the workplace catalog
+ * version from {@link CatalogVersions}, so the version clients see in ETags always describes exactly the rows
+ * served with it. Like {@link AttendanceBoard} this assumes workplaces are only written through this server.
+ */
+@Component
+public class WorkPlaceRegistry {
+
+    private final WorkPlaceRepository workPlaceRepository;
+    private final CatalogVersions catalogVersions;
+    private final AtomicReference<Snapshot> current;
+
+    @Autowired
+    public WorkPlaceRegistry(WorkPlaceRepository workPlaceRepository, CatalogVersions catalogVersions) {
+        this.workPlaceRepository = workPlaceRepository;
+        this.catalogVersions = catalogVersions;
+        this.current = new AtomicReference<>(Snapshot.of(catalogVersions.workPlaces(), List.of()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        publish(workPlaceRepository.findAll());
+    }
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /** Adds or replaces one saved workplace and returns the snapshot that contains it. */
+    public synchronized Snapshot put(WorkPlace workPlace) {
+        if (workPlace.getWorkPlaceName() == null) {
+            return current.get();
+        }
+        Map<String, WorkPlace> rows = new LinkedHashMap<>(current.get().byName());
+        rows.put(workPlace.getWorkPlaceName(), copyOf(workPlace));
+        return publish(rows.values());
+    }
+
+    private Snapshot publish(Collection<WorkPlace> rows) {
+        Snapshot next = Snapshot.of(catalogVersions.bumpWorkPlaces(), rows);
+        current.set(next);
+        return next;
+    }
+
+    private static WorkPlace copyOf(WorkPlace source) {
+        WorkPlace copy = new WorkPlace();
+        copy.setWorkPlaceName(source.getWorkPlaceName());
+        copy.setLatitude(source.getLatitude());
+        copy.setLongitude(source.getLongitude());
+        return copy;
+    }
+
+    /** One immutable generation of the workplace catalog. The WorkPlace objects are shared and must not be modified. */
+    public record Snapshot(long version, List<WorkPlace> workPlaces, Map<String, WorkPlace> byName,
+                           WorkPlaceSpatialIndex index) {
+
+        static Snapshot of(long version, Collection<WorkPlace> rows) {
+            Map<String, WorkPlace> byName = new LinkedHashMap<>();
+            for (WorkPlace row : rows) {
+                byName.put(row.getWorkPlaceName(), row);
+            }
+            List<WorkPlace> workPlaces = Collections.unmodifiableList(new ArrayList<>(byName.values()));
+            return new Snapshot(version, workPlaces, Collections.unmodifiableMap(byName),
+                    WorkPlaceSpatialIndex.build(workPlaces));
+        }
+
+        public Optional<WorkPlace> find(String workPlaceName) {
+            return Optional.ofNullable(byName.get(workPlaceName));
+        }
+    }
+}
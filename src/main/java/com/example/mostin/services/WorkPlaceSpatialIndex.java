@@ -0,0 +1,234 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.WorkPlace;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable uniform grid over workplace coordinates for k-nearest lookups.
+ *
+ * Sites are bucketed into {@code cellDegrees} squares. A query scans rings of cells outward from its own cell and
+ * stops once the part of the occupied box not scanned yet is farther than the k-th best site found so far, so only
+ * a handful of cells are visited when sites are spread out. Rings are clipped to the rows and columns that hold
+ * sites and start at the first ring that reaches them, so a query far outside that box costs about the same. When
+ * sites are so sparse that a query would look at more cells than there are sites, it scans the sites instead, so
+ * no query costs more than a linear scan. Distances are great-circle (haversine) metres.
+ * Longitude does not wrap at the antimeridian, which is fine for sites within one country.
+ */
+public final class WorkPlaceSpatialIndex {
+
+    public static final double DEFAULT_CELL_DEGREES = 0.05;
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_METERS;
+    private static final double BOUND_SLACK_METERS = 0.001;
+
+    private final double cellDegrees;
+    private final List<WorkPlace> sites;
+    private final Map<Long, List<WorkPlace>> cells;
+    private final Map<String, WorkPlace> byName;
+    private final int minRow;
+    private final int maxRow;
+    private final int minCol;
+    private final int maxCol;
+
+    private WorkPlaceSpatialIndex(double cellDegrees, List<WorkPlace> sites, Map<Long, List<WorkPlace>> cells,
+                                  Map<String, WorkPlace> byName, int minRow, int maxRow, int minCol, int maxCol) {
+        this.cellDegrees = cellDegrees;
+        this.sites = sites;
+        this.cells = cells;
+        this.byName = byName;
+        this.minRow = minRow;
+        this.maxRow = maxRow;
+        this.minCol = minCol;
+        this.maxCol = maxCol;
+    }
+
+    public static WorkPlaceSpatialIndex build(Collection<WorkPlace> workPlaces) {
+        return build(workPlaces, DEFAULT_CELL_DEGREES);
+    }
+
+    public static WorkPlaceSpatialIndex build(Collection<WorkPlace> workPlaces, double cellDegrees) {
+        Map<Long, List<WorkPlace>> cells = new HashMap<>();
+        Map<String, WorkPlace> byName = new HashMap<>();
+        int minRow = Integer.MAX_VALUE;
+        int maxRow = Integer.MIN_VALUE;
+        int minCol = Integer.MAX_VALUE;
+        int maxCol = Integer.MIN_VALUE;
+        for (WorkPlace workPlace : workPlaces) {
+            int row = cellOf(workPlace.getLatitude(), cellDegrees);
+            int col = cellOf(workPlace.getLongitude(), cellDegrees);
+            cells.computeIfAbsent(key(row, col), k -> new ArrayList<>()).add(workPlace);
+            byName.put(workPlace.getWorkPlaceName(), workPlace);
+            minRow = Math.min(minRow, row);
+            maxRow = Math.max(maxRow, row);
+            minCol = Math.min(minCol, col);
+            maxCol = Math.max(maxCol, col);
+        }
+        return new WorkPlaceSpatialIndex(cellDegrees, List.copyOf(workPlaces), cells, byName, minRow, maxRow, minCol, maxCol);
+    }
+
+    public int size() {
+        return byName.size();
+    }
+
+    public WorkPlace get(String workPlaceName) {
+        return byName.get(workPlaceName);
+    }
+
+    /** Up to {@code k} sites ordered by distance from the point, closest first. */
+    public List<Neighbor> nearest(double latitude, double longitude, int k) {
+        if (k <= 0 || cells.isEmpty()) {
+            return List.of();
+        }
+        int row = cellOf(latitude, cellDegrees);
+        int col = cellOf(longitude, cellDegrees);
+        // 사이트가 있는 영역에 처음 닿는 링부터 영역을 모두 덮는 링까지만 탐색
+        int firstRing = Math.max(outside(row, minRow, maxRow), outside(col, minCol, maxCol));
+        int lastRing = Math.max(Math.max(row - minRow, maxRow - row), Math.max(col - minCol, maxCol - col));
+
+        // 가장 먼 후보가 머리에 오도록 역순 정렬한 크기 k의 힙
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Neighbor::distanceMeters).reversed());
+        long visited = 0;
+        for (int ring = firstRing; ring <= lastRing; ring++) {
+            if (best.size() == k && best.peek().distanceMeters() <= minDistanceUnscanned(latitude, longitude, row, col, ring - 1)) {
+                break;
+            }
+            if (visited > sites.size()) {
+                // 빈 칸이 너무 많은 드문 배치에서는 전체 스캔이 더 싸므로 그쪽으로 전환
+                return nearestByScan(sites, latitude, longitude, k);
+            }
+            int top = Math.max(row - ring, minRow);
+            int bottom = Math.min(row + ring, maxRow);
+            int left = Math.max(col - ring, minCol);
+            int right = Math.min(col + ring, maxCol);
+            for (int r = top; r <= bottom; r++) {
+                if (r == row - ring || r == row + ring) {
+                    for (int c = left; c <= right; c++) {
+                        offer(best, k, latitude, longitude, r, c);
+                    }
+                    visited += right - left + 1;
+                } else {
+                    if (col - ring >= minCol) {
+                        offer(best, k, latitude, longitude, r, col - ring);
+                    }
+                    if (col + ring <= maxCol) {
+                        offer(best, k, latitude, longitude, r, col + ring);
+                    }
+                    visited += 2;
+                }
+            }
+        }
+        List<Neighbor> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbor::distanceMeters));
+        return result;
+    }
+
+    private void offer(PriorityQueue<Neighbor> best, int k, double latitude, double longitude, int row, int col) {
+        List<WorkPlace> cell = cells.get(key(row, col));
+        if (cell == null) {
+            return;
+        }
+        for (WorkPlace workPlace : cell) {
+            double distance = distanceMeters(latitude, longitude, workPlace.getLatitude(), workPlace.getLongitude());
+            if (best.size() < k) {
+                best.add(new Neighbor(workPlace, distance));
+            } else if (distance < best.peek().distanceMeters()) {
+                best.poll();
+                best.add(new Neighbor(workPlace, distance));
+            }
+        }
+    }
+
+    /** Reference implementation: distance to every site. Used by tests and the benchmark. */
+    public static List<Neighbor> nearestByScan(Collection<WorkPlace> workPlaces, double latitude, double longitude, int k) {
+        return workPlaces.stream()
+                .map(workPlace -> new Neighbor(workPlace,
+                        distanceMeters(latitude, longitude, workPlace.getLatitude(), workPlace.getLongitude())))
+                .sorted(Comparator.comparingDouble(Neighbor::distanceMeters))
+                .limit(k)
+                .toList();
+    }
+
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Lower bound on the distance from the point to any site not scanned once rings {@code 0..ring} around cell
+     * ({@code row}, {@code col}) are done. Those sites lie in the occupied rows and columns minus that block, which
+     * is at most four latitude/longitude rectangles, so the bound is the distance to the nearest of them.
+     */
+    private double minDistanceUnscanned(double latitude, double longitude, int row, int col, int ring) {
+        int top = Math.max(row - ring, minRow);
+        int bottom = Math.min(row + ring, maxRow);
+        // 블록 위/아래의 행 전체, 블록 행 범위 안의 왼쪽/오른쪽 열
+        double bound = distanceToCells(latitude, longitude, minRow, Math.min(row - ring - 1, maxRow), minCol, maxCol);
+        bound = Math.min(bound, distanceToCells(latitude, longitude, Math.max(row + ring + 1, minRow), maxRow, minCol, maxCol));
+        bound = Math.min(bound, distanceToCells(latitude, longitude, top, bottom, minCol, Math.min(col - ring - 1, maxCol)));
+        bound = Math.min(bound, distanceToCells(latitude, longitude, top, bottom, Math.max(col + ring + 1, minCol), maxCol));
+        return bound;
+    }
+
+    private double distanceToCells(double latitude, double longitude, int fromRow, int toRow, int fromCol, int toCol) {
+        if (fromRow > toRow || fromCol > toCol) {
+            return Double.POSITIVE_INFINITY;
+        }
+        // 칸 경계에 걸친 좌표의 반올림 오차만큼 여유를 둠
+        return distanceToBox(latitude, longitude, Math.max(-90, fromRow * cellDegrees), Math.min(90, (toRow + 1) * cellDegrees),
+                fromCol * cellDegrees, (toCol + 1) * cellDegrees) - BOUND_SLACK_METERS;
+    }
+
+    /** Shortest great-circle distance from a point to a latitude/longitude rectangle, 0 if the point is inside. */
+    static double distanceToBox(double latitude, double longitude, double south, double north, double west, double east) {
+        if (longitude >= west && longitude <= east) {
+            if (latitude < south) {
+                return (south - latitude) * METERS_PER_DEGREE;
+            }
+            return latitude > north ? (latitude - north) * METERS_PER_DEGREE : 0;
+        }
+        // 경도 차이가 클수록 멀어지므로 가장 가까운 점은 양쪽 경계 자오선 중 하나 위에 있음
+        return Math.min(distanceToMeridian(latitude, longitude, west, south, north),
+                distanceToMeridian(latitude, longitude, east, south, north));
+    }
+
+    private static double distanceToMeridian(double latitude, double longitude, double meridian, double south, double north) {
+        double distance = Math.min(distanceMeters(latitude, longitude, south, meridian),
+                distanceMeters(latitude, longitude, north, meridian));
+        double cosDLon = Math.cos(Math.toRadians(longitude - meridian));
+        if (cosDLon > 0) {
+            // 경도 차이가 90도 미만이면 자오선 위 거리는 이 위도에서 최소이고 양쪽으로 단조 증가
+            double closest = Math.toDegrees(Math.atan(Math.tan(Math.toRadians(latitude)) / cosDLon));
+            if (closest > south && closest < north) {
+                distance = Math.min(distance, distanceMeters(latitude, longitude, closest, meridian));
+            }
+        }
+        return distance;
+    }
+
+    // 구간 [min, max] 밖에 있으면 가장 가까운 끝까지의 칸 수, 안에 있으면 0
+    private static int outside(int value, int min, int max) {
+        return value < min ? min - value : value > max ? value - max : 0;
+    }
+
+    private static int cellOf(double degrees, double cellDegrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    public record Neighbor(WorkPlace workPlace, double distanceMeters) {
+    }
+}
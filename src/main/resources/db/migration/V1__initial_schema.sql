@@ -0,0 +1,50 @@
+-- Tables as they were first created by Hibernate, with the primary key column order made explicit.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE employee_md (
+    employee_id     VARCHAR(255) NOT NULL,
+    employee_name   VARCHAR(255) NOT NULL,
+    employee_pwd    VARCHAR(255),
+    phone_num       VARCHAR(255),
+    employee_type   VARCHAR(255),
+    address         VARCHAR(255),
+    work_place_name VARCHAR(255),
+    PRIMARY KEY (employee_id, employee_name)
+);
+
+CREATE TABLE commute (
+    commute_day     DATE         NOT NULL,
+    employee_id     VARCHAR(255) NOT NULL,
+    employee_name   VARCHAR(255),
+    start_time      TIME,
+    end_time        TIME,
+    work_place_name VARCHAR(255),
+    PRIMARY KEY (commute_day, employee_id),
+    CONSTRAINT fk_commute_employee FOREIGN KEY (employee_id, employee_name)
+        REFERENCES employee_md (employee_id, employee_name)
+);
+
+CREATE TABLE ordering (
+    ordering_day  DATE         NOT NULL,
+    employee_id   VARCHAR(255) NOT NULL,
+    barcode       VARCHAR(255) NOT NULL,
+    employee_name VARCHAR(255),
+    box_num       INTEGER,
+    goods_name    VARCHAR(255),
+    PRIMARY KEY (ordering_day, employee_id, barcode),
+    CONSTRAINT fk_ordering_employee FOREIGN KEY (employee_id, employee_name)
+        REFERENCES employee_md (employee_id, employee_name)
+);
+
+CREATE TABLE goods (
+    barcode    VARCHAR(255) NOT NULL,
+    goods_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (barcode, goods_name)
+);
+
+CREATE TABLE work_place (
+    work_place_name VARCHAR(255) NOT NULL,
+    latitude        DOUBLE       NOT NULL,
+    longitude       DOUBLE       NOT NULL,
+    PRIMARY KEY (work_place_name)
+);
@@ -0,0 +1,11 @@
+-- Keyed month first so the month-wide report and rebuild read a primary key range.
+
+CREATE TABLE commute_monthly_summary (
+    summary_month VARCHAR(7)   NOT NULL,
+    employee_id   VARCHAR(255) NOT NULL,
+    employee_name VARCHAR(255),
+    days_worked   INTEGER      NOT NULL,
+    total_minutes BIGINT       NOT NULL,
+    late_count    INTEGER      NOT NULL,
+    PRIMARY KEY (summary_month, employee_id)
+);
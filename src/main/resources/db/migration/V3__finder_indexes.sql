@@ -0,0 +1,17 @@
+-- One index per repository finder that is not already served by a primary key prefix:
+--   commute  (commute_day, ...)            findByCommuteDay, streamByCommuteDayBetween
+--   ordering (ordering_day, ...)           -
+--   employee_md (employee_id, ...)         findByEmployeeId, findPageAfter
+--   goods (barcode, ...)                   findByBarcode, findFirstByBarcode, findByBarcodeIn, findPageAfter
+
+-- CommuteRepository.findByEmployeeIdAndCommuteDay, findByEmployeeIdAndCommuteDayBetween
+CREATE INDEX idx_commute_employee_day ON commute (employee_id, commute_day);
+
+-- CommuteRepository.findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc
+CREATE INDEX idx_commute_employee_recent ON commute (employee_id, employee_name, commute_day DESC, start_time DESC);
+
+-- OrderingRepository.findByEmployeeId*, findHistoryPageAfter, summarizeByDay, deleteByEmployeeIdAndOrderingDay
+CREATE INDEX idx_ordering_employee_day ON ordering (employee_id, ordering_day DESC, barcode);
+
+-- Databases baselined from a Hibernate-generated schema may have goods keyed (goods_name, barcode)
+CREATE INDEX idx_goods_barcode ON goods (barcode);
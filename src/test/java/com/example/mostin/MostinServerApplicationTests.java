@@ -0,0 +1,40 @@
+package com.example.mostin;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 슬라이스 테스트가 잡지 못하는 설정 오류(2차 캐시 설정, Flyway, 빈 연결)를 잡기 위해 전체 컨텍스트를 띄움
+@SpringBootTest
+@AutoConfigureMockMvc
+class MostinServerApplicationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void should_startWithSecondLevelCache_when_bootedWithApplicationProperties() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/cache/hibernate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true));
+    }
+
+    @Test
+    void should_serveEmptyCatalogs_when_databaseFreshlyMigrated() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/workplaces"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/employees/count"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.mostin.controllers;
+
+import com.example.mostin.services.HibernateCacheStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CacheController.class)
+class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private HibernateCacheStats hibernateCacheStats;
+
+    @Test
+    void should_returnRegionCounters_when_hibernateStatsRequested() throws Exception {
+        // Given
+        when(hibernateCacheStats.snapshot()).thenReturn(new HibernateCacheStats.Snapshot(true, 42,
+                Map.of("work_place", new HibernateCacheStats.Region(9, 1, 1, 0.9, 1)),
+                new HibernateCacheStats.Region(3, 1, 1, 0.75, 1)));
+
+        // When & Then
+        mockMvc.perform(get("/api/cache/hibernate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statements").value(42))
+                .andExpect(jsonPath("$.entities.work_place.hitRate").value(0.9))
+                .andExpect(jsonPath("$.queries.hits").value(3));
+    }
+}
@@ -1,7 +1,18 @@
 package com.example.mostin.controllers;
 
+import com.example.mostin.dto.ClockInRequest;
+import com.example.mostin.dto.ClockOutRequest;
+import com.example.mostin.dto.EmployeeView;
 import com.example.mostin.models.Commute;
+import com.example.mostin.models.CommuteMonthlySummary;
 import com.example.mostin.repositories.CommuteRepository;
+import com.example.mostin.services.AttendanceBoard;
+import com.example.mostin.services.CommuteSummaryService;
+import com.example.mostin.services.EmployeeCache;
+import com.example.mostin.services.IdempotencyCache;
+import com.example.mostin.services.LastCommuteCache;
+import com.example.mostin.services.ResponseStreamer;
+import com.example.mostin.services.WorkPlaceLocator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,12 +22,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.OptionalDouble;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -31,6 +48,27 @@ class CommuteControllerTest {
     @MockBean
     private CommuteRepository commuteRepository;
 
+    @MockBean
+    private IdempotencyCache idempotencyCache;
+
+    @MockBean
+    private AttendanceBoard attendanceBoard;
+
+    @MockBean
+    private CommuteSummaryService commuteSummaryService;
+
+    @MockBean
+    private ResponseStreamer responseStreamer;
+
+    @MockBean
+    private LastCommuteCache lastCommuteCache;
+
+    @MockBean
+    private WorkPlaceLocator workPlaceLocator;
+
+    @MockBean
+    private EmployeeCache employeeCache;
+
     private ObjectMapper objectMapper;
 
     private Commute testCommute;
@@ -72,7 +110,7 @@ class CommuteControllerTest {
         savedCommute.setCommuteDay(LocalDate.of(2024, 1, 15));
         savedCommute.setStartTime(LocalTime.of(9, 0));
 
-        when(commuteRepository.save(any(Commute.class))).thenReturn(savedCommute);
+        when(commuteSummaryService.saveCommute(any(Commute.class))).thenReturn(savedCommute);
 
         // When & Then
         mockMvc.perform(post("/api/commute/clock-in")
@@ -85,7 +123,9 @@ class CommuteControllerTest {
                 .andExpect(jsonPath("$.commuteDay").value("2024-01-15"))
                 .andExpect(jsonPath("$.startTime").value("09:00:00"));
 
-        verify(commuteRepository).save(any(Commute.class));
+        verify(commuteSummaryService).saveCommute(any(Commute.class));
+        verify(attendanceBoard).record(savedCommute);
+        verify(lastCommuteCache).record(savedCommute);
     }
 
     @Test
@@ -102,9 +142,8 @@ class CommuteControllerTest {
         updatedCommute.setStartTime(LocalTime.of(9, 0));
         updatedCommute.setEndTime(LocalTime.of(18, 0));
 
-        when(commuteRepository.findByEmployeeIdAndCommuteDay("EMP001", LocalDate.now()))
-                .thenReturn(List.of(existingCommute));
-        when(commuteRepository.save(any(Commute.class))).thenReturn(updatedCommute);
+        when(attendanceBoard.find("EMP001")).thenReturn(Optional.of(existingCommute));
+        when(commuteSummaryService.saveCommute(any(Commute.class))).thenReturn(updatedCommute);
 
         // When & Then
         mockMvc.perform(put("/api/commute/clock-out")
@@ -114,15 +153,15 @@ class CommuteControllerTest {
                 .andExpect(jsonPath("$.employeeId").value("EMP001"))
                 .andExpect(jsonPath("$.endTime").value("18:00:00"));
 
-        verify(commuteRepository).findByEmployeeIdAndCommuteDay("EMP001", LocalDate.now());
-        verify(commuteRepository).save(existingCommute);
+        verify(commuteRepository, never()).findByEmployeeIdAndCommuteDay(anyString(), any());
+        verify(commuteSummaryService).saveCommute(existingCommute);
+        verify(attendanceBoard).record(updatedCommute);
     }
 
     @Test
     void should_return404_when_clockOutWithNoExistingRecord() throws Exception {
         // Given
-        when(commuteRepository.findByEmployeeIdAndCommuteDay("EMP001", LocalDate.now()))
-                .thenReturn(Collections.emptyList());
+        when(attendanceBoard.find("EMP001")).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(put("/api/commute/clock-out")
@@ -130,16 +169,14 @@ class CommuteControllerTest {
                         .content(objectMapper.writeValueAsString(clockOutPayload)))
                 .andExpect(status().isNotFound());
 
-        verify(commuteRepository).findByEmployeeIdAndCommuteDay("EMP001", LocalDate.now());
-        verify(commuteRepository, never()).save(any(Commute.class));
+        verify(attendanceBoard).find("EMP001");
+        verify(commuteSummaryService, never()).saveCommute(any(Commute.class));
     }
 
     @Test
     void should_returnTodayCommute_when_recordExistsForToday() throws Exception {
         // Given
-        LocalDate today = LocalDate.now();
-        when(commuteRepository.findByEmployeeIdAndCommuteDay("EMP001", today))
-                .thenReturn(List.of(testCommute));
+        when(attendanceBoard.find("EMP001")).thenReturn(Optional.of(testCommute));
 
         // When & Then
         mockMvc.perform(get("/api/commute/today")
@@ -149,22 +186,20 @@ class CommuteControllerTest {
                 .andExpect(jsonPath("$.employeeName").value("John Doe"))
                 .andExpect(jsonPath("$.startTime").value("09:00:00"));
 
-        verify(commuteRepository).findByEmployeeIdAndCommuteDay("EMP001", today);
+        verifyNoInteractions(commuteRepository);
     }
 
     @Test
     void should_return404_when_noCommuteRecordForToday() throws Exception {
         // Given
-        LocalDate today = LocalDate.now();
-        when(commuteRepository.findByEmployeeIdAndCommuteDay("EMP001", today))
-                .thenReturn(Collections.emptyList());
+        when(attendanceBoard.find("EMP001")).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(get("/api/commute/today")
                         .param("employeeId", "EMP001"))
                 .andExpect(status().isNotFound());
 
-        verify(commuteRepository).findByEmployeeIdAndCommuteDay("EMP001", today);
+        verifyNoInteractions(commuteRepository);
     }
 
     @Test
@@ -224,8 +259,7 @@ class CommuteControllerTest {
     @Test
     void should_returnRecentCommute_when_recordExists() throws Exception {
         // Given
-        when(commuteRepository.findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc("EMP001", "John Doe"))
-                .thenReturn(Optional.of(testCommute));
+        when(lastCommuteCache.find("EMP001", "John Doe")).thenReturn(Optional.of(testCommute));
 
         // When & Then
         mockMvc.perform(get("/api/commute/recent")
@@ -236,14 +270,13 @@ class CommuteControllerTest {
                 .andExpect(jsonPath("$.employeeName").value("John Doe"))
                 .andExpect(jsonPath("$.commuteDay").value("2024-01-15"));
 
-        verify(commuteRepository).findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc("EMP001", "John Doe");
+        verify(lastCommuteCache).find("EMP001", "John Doe");
     }
 
     @Test
     void should_return404_when_noRecentCommuteFound() throws Exception {
         // Given
-        when(commuteRepository.findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc("EMP001", "John Doe"))
-                .thenReturn(Optional.empty());
+        when(lastCommuteCache.find("EMP001", "John Doe")).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(get("/api/commute/recent")
@@ -251,7 +284,7 @@ class CommuteControllerTest {
                         .param("employeeName", "John Doe"))
                 .andExpect(status().isNotFound());
 
-        verify(commuteRepository).findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc("EMP001", "John Doe");
+        verify(lastCommuteCache).find("EMP001", "John Doe");
     }
 
     @Test
@@ -263,7 +296,7 @@ class CommuteControllerTest {
         savedCommute.setEmployeeId("EMP001");
         savedCommute.setStartTime(LocalTime.of(8, 30));
 
-        when(commuteRepository.save(any(Commute.class))).thenReturn(savedCommute);
+        when(commuteSummaryService.saveCommute(any(Commute.class))).thenReturn(savedCommute);
 
         // When & Then
         mockMvc.perform(post("/api/commute/clock-in")
@@ -272,6 +305,431 @@ class CommuteControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.startTime").value("08:30:00"));
 
-        verify(commuteRepository).save(any(Commute.class));
+        verify(commuteSummaryService).saveCommute(any(Commute.class));
+    }
+
+    @Test
+    void should_returnBadRequestWithoutSaving_when_clockInMissesEmployeeId() throws Exception {
+        // Given
+        clockInPayload.remove("employeeId");
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("employeeId is required"));
+
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_returnBadRequest_when_clockInStartTimeIsMalformed() throws Exception {
+        // Given
+        clockInPayload.put("startTime", "9시");
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_returnBadRequestWithoutLookup_when_clockOutMissesEndTime() throws Exception {
+        // Given
+        clockOutPayload.remove("endTime");
+
+        // When & Then
+        mockMvc.perform(put("/api/commute/clock-out")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockOutPayload)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("endTime is required"));
+
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_replayPreviousResponseWithoutSaving_when_clockInRetriedWithSameKey() throws Exception {
+        // Given
+        when(idempotencyCache.get(List.of("clock-in", "EMP001", "retry-1")))
+                .thenReturn(new IdempotencyCache.Replay(clockInRequest(), testCommute));
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employeeId").value("EMP001"))
+                .andExpect(jsonPath("$.startTime").value("09:00:00"));
+
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_return422WithoutSaving_when_idempotencyKeyReusedWithDifferentBody() throws Exception {
+        // Given
+        when(idempotencyCache.get(List.of("clock-in", "EMP001", "retry-1")))
+                .thenReturn(new IdempotencyCache.Replay(clockInRequest(), testCommute));
+        clockInPayload.put("startTime", "13:00");
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isUnprocessableEntity());
+
+        verifyNoInteractions(commuteRepository);
+        verify(idempotencyCache, never()).put(any(), any(), any());
+    }
+
+    @Test
+    void should_return403WithoutSaving_when_clockInOutsideGeofence() throws Exception {
+        // Given
+        givenAssignedWorkPlace("Main Office");
+        when(workPlaceLocator.geofenceEnabled()).thenReturn(true);
+        when(workPlaceLocator.geofenceRadiusMeters()).thenReturn(200.0);
+        when(workPlaceLocator.distanceTo("Main Office", 37.5, 127.0)).thenReturn(OptionalDouble.of(1520.4));
+        clockInPayload.put("latitude", "37.5");
+        clockInPayload.put("longitude", "127.0");
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isForbidden())
+                .andExpect(content().string("Outside workplace geofence (1520 m away)"));
+
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_returnBadRequest_when_clockInPositionIsNaN() throws Exception {
+        // Given
+        clockInPayload.put("latitude", "NaN");
+        clockInPayload.put("longitude", "127.0");
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("latitude/longitude out of range"));
+
+        verifyNoInteractions(commuteRepository, commuteSummaryService);
+    }
+
+    @Test
+    void should_return403WithoutSaving_when_geofenceDistanceIsNotFinite() throws Exception {
+        // Given
+        givenAssignedWorkPlace("Main Office");
+        when(workPlaceLocator.geofenceEnabled()).thenReturn(true);
+        when(workPlaceLocator.geofenceRadiusMeters()).thenReturn(200.0);
+        when(workPlaceLocator.distanceTo("Main Office", 37.5, 127.0)).thenReturn(OptionalDouble.of(Double.NaN));
+        clockInPayload.put("latitude", "37.5");
+        clockInPayload.put("longitude", "127.0");
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(commuteSummaryService);
+    }
+
+    @Test
+    void should_saveCommute_when_clockInInsideGeofence() throws Exception {
+        // Given
+        givenAssignedWorkPlace("Main Office");
+        when(workPlaceLocator.geofenceEnabled()).thenReturn(true);
+        when(workPlaceLocator.geofenceRadiusMeters()).thenReturn(200.0);
+        when(workPlaceLocator.distanceTo("Main Office", 37.5, 127.0)).thenReturn(OptionalDouble.of(35.0));
+        when(commuteSummaryService.saveCommute(any(Commute.class))).thenReturn(testCommute);
+        clockInPayload.put("latitude", "37.5");
+        clockInPayload.put("longitude", "127.0");
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isOk());
+
+        verify(commuteSummaryService).saveCommute(any(Commute.class));
+    }
+
+    @Test
+    void should_returnBadRequest_when_geofenceEnabledAndPositionMissing() throws Exception {
+        // Given
+        when(workPlaceLocator.geofenceEnabled()).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("latitude and longitude are required"));
+
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_checkAssignedWorkPlace_when_clientOmitsOrChangesWorkPlaceName() throws Exception {
+        // Given
+        givenAssignedWorkPlace("Main Office");
+        when(workPlaceLocator.geofenceEnabled()).thenReturn(true);
+        when(workPlaceLocator.geofenceRadiusMeters()).thenReturn(200.0);
+        when(workPlaceLocator.distanceTo("Main Office", 37.5, 127.0)).thenReturn(OptionalDouble.of(1520.4));
+        clockInPayload.put("latitude", "37.5");
+        clockInPayload.put("longitude", "127.0");
+        clockInPayload.remove("workPlaceName");
+
+        // When & Then - leaving the workplace out does not skip the check
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isForbidden());
+
+        // When & Then - nor does naming a workplace next to the device
+        clockInPayload.put("workPlaceName", "Branch Near Home");
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isForbidden());
+
+        verify(workPlaceLocator, never()).distanceTo(eq("Branch Near Home"), anyDouble(), anyDouble());
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_recordAssignedWorkPlace_when_clockInInsideGeofence() throws Exception {
+        // Given
+        givenAssignedWorkPlace("Main Office");
+        when(workPlaceLocator.geofenceEnabled()).thenReturn(true);
+        when(workPlaceLocator.geofenceRadiusMeters()).thenReturn(200.0);
+        when(workPlaceLocator.distanceTo("Main Office", 37.5, 127.0)).thenReturn(OptionalDouble.of(35.0));
+        when(commuteSummaryService.saveCommute(any(Commute.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        clockInPayload.put("latitude", "37.5");
+        clockInPayload.put("longitude", "127.0");
+        clockInPayload.put("workPlaceName", "Branch Near Home");
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workPlaceName").value("Main Office"));
+    }
+
+    @Test
+    void should_return403_when_geofenceEnabledAndNoAssignedWorkPlace() throws Exception {
+        // Given
+        givenAssignedWorkPlace(null);
+        when(workPlaceLocator.geofenceEnabled()).thenReturn(true);
+        clockInPayload.put("latitude", "37.5");
+        clockInPayload.put("longitude", "127.0");
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isForbidden())
+                .andExpect(content().string("No assigned workplace to check the geofence against"));
+
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_returnBadRequest_when_geofenceEnabledAndEmployeeUnknown() throws Exception {
+        // Given
+        when(employeeCache.find("EMP001")).thenReturn(Optional.empty());
+        when(workPlaceLocator.geofenceEnabled()).thenReturn(true);
+        clockInPayload.put("latitude", "37.5");
+        clockInPayload.put("longitude", "127.0");
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unknown employee"));
+
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_rememberSavedCommute_when_clockInSucceeds() throws Exception {
+        // Given
+        when(commuteSummaryService.saveCommute(any(Commute.class))).thenReturn(testCommute);
+
+        // When
+        mockMvc.perform(post("/api/commute/clock-in")
+                        .header("Idempotency-Key", "first-try")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockInPayload)))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(idempotencyCache).put(List.of("clock-in", "EMP001", "first-try"), clockInRequest(), testCommute);
+    }
+
+    @Test
+    void should_fallBackToRequestBodyAsKey_when_clockOutHasNoIdempotencyKey() throws Exception {
+        // Given
+        ClockOutRequest request = new ClockOutRequest("EMP001", LocalTime.of(18, 0));
+        when(idempotencyCache.get(List.of(LocalDate.now(), request)))
+                .thenReturn(new IdempotencyCache.Replay(request, testCommute));
+
+        // When & Then
+        mockMvc.perform(put("/api/commute/clock-out")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clockOutPayload)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endTime").value("18:00:00"));
+
+        verify(commuteRepository, never()).findByEmployeeIdAndCommuteDay(anyString(), any());
+        verify(commuteSummaryService, never()).saveCommute(any(Commute.class));
+    }
+
+    @Test
+    void should_returnWholeBoard_when_managerRequestsTodayAll() throws Exception {
+        // Given
+        Commute other = new Commute();
+        other.setEmployeeId("EMP002");
+        other.setEmployeeName("Jane Doe");
+        other.setCommuteDay(LocalDate.now());
+        other.setStartTime(LocalTime.of(8, 50));
+        when(attendanceBoard.all()).thenReturn(List.of(testCommute, other));
+
+        // When & Then
+        mockMvc.perform(get("/api/commute/today/all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].employeeId").value("EMP002"));
+
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_returnMonthSummaries_when_noEmployeeGiven() throws Exception {
+        // Given
+        CommuteMonthlySummary summary = new CommuteMonthlySummary();
+        summary.setEmployeeId("EMP001");
+        summary.setSummaryMonth("2024-01");
+        summary.setDaysWorked(2);
+        summary.setTotalMinutes(1000);
+        summary.setLateCount(1);
+        when(commuteSummaryService.findMonth(YearMonth.of(2024, 1))).thenReturn(List.of(summary));
+
+        // When & Then
+        mockMvc.perform(get("/api/commute/monthly/summary")
+                        .param("year", "2024")
+                        .param("month", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].employeeId").value("EMP001"))
+                .andExpect(jsonPath("$[0].daysWorked").value(2))
+                .andExpect(jsonPath("$[0].averageMinutes").value(500))
+                .andExpect(jsonPath("$[0].lateCount").value(1));
+
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_return404_when_employeeHasNoMonthSummary() throws Exception {
+        // Given
+        when(commuteSummaryService.find("EMP001", YearMonth.of(2024, 1))).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/commute/monthly/summary")
+                        .param("employeeId", "EMP001")
+                        .param("year", "2024")
+                        .param("month", "1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_reportRebuiltRows_when_rebuildRequested() throws Exception {
+        // Given
+        when(commuteSummaryService.rebuild(YearMonth.of(2024, 1))).thenReturn(42);
+
+        // When & Then
+        mockMvc.perform(post("/api/commute/monthly/summary/rebuild")
+                        .param("year", "2024")
+                        .param("month", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.month").value("2024-01"))
+                .andExpect(jsonPath("$.rebuilt").value(42));
+    }
+
+    @Test
+    void should_streamMonthAsCsvAttachment_when_exportRequested() throws Exception {
+        // Given
+        StreamingResponseBody body = out -> out.write("commuteDay,employeeId\r\n2024-01-15,EMP001\r\n".getBytes());
+        when(responseStreamer.csv(any(), any(), any())).thenReturn(body);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/commute/export")
+                        .param("year", "2024")
+                        .param("month", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"commute-2024-01.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("commuteDay,employeeId\r\n2024-01-15,EMP001\r\n"));
+
+        verify(responseStreamer, never()).ndjson(any());
+        verify(commuteRepository, never()).findByEmployeeIdAndCommuteDayBetween(anyString(), any(), any());
+    }
+
+    @Test
+    void should_streamMonthAsNdjson_when_formatIsNdjson() throws Exception {
+        // Given
+        StreamingResponseBody body = out -> out.write("{\"employeeId\":\"EMP001\"}\n".getBytes());
+        when(responseStreamer.ndjson(any())).thenReturn(body);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/commute/export")
+                        .param("year", "2024")
+                        .param("month", "1")
+                        .param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"employeeId\":\"EMP001\"}\n"));
+    }
+
+    @Test
+    void should_returnBadRequest_when_exportFormatUnknown() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/commute/export")
+                        .param("year", "2024")
+                        .param("month", "1")
+                        .param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(responseStreamer);
+    }
+
+    private static ClockInRequest clockInRequest() {
+        return new ClockInRequest("EMP001", "John Doe", "Main Office", LocalDate.of(2024, 1, 15),
+                LocalTime.of(9, 0), null, null);
+    }
+
+    private void givenAssignedWorkPlace(String workPlaceName) {
+        when(employeeCache.find("EMP001")).thenReturn(Optional.of(new EmployeeCache.Entry(
+                new EmployeeView("EMP001", "John Doe", null, null, null, workPlaceName), "fingerprint")));
     }
-}
\ No newline at end of file
+}
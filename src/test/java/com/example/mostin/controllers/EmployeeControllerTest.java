@@ -1,22 +1,44 @@
 package com.example.mostin.controllers;
 
+import com.example.mostin.models.Commute;
 import com.example.mostin.models.Employee;
+import com.example.mostin.pagination.KeysetCursor;
 import com.example.mostin.repositories.EmployeeRepository;
+import com.example.mostin.services.AttendanceBoard;
+import com.example.mostin.services.CommuteWriteBehind;
+import com.example.mostin.services.EmployeeCache;
+import com.example.mostin.services.EmployeeDeletionService;
+import com.example.mostin.services.IdempotencyCache;
+import com.example.mostin.services.LastCommuteCache;
+import com.example.mostin.services.LoginMetrics;
+import com.example.mostin.services.LoginTokenService;
+import com.example.mostin.services.PasswordHashingService;
+import com.example.mostin.services.ResponseStreamer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -24,6 +46,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EmployeeController.class)
+@Import({LoginTokenService.class, LoginMetrics.class, PasswordHashingService.class, EmployeeCache.class})
 class EmployeeControllerTest {
 
     @Autowired
@@ -35,14 +58,45 @@ class EmployeeControllerTest {
     @MockBean
     private BCryptPasswordEncoder passwordEncoder;
 
+    @MockBean
+    private ResponseStreamer responseStreamer;
+
+    @MockBean
+    private EmployeeDeletionService employeeDeletionService;
+
+    @MockBean
+    private LastCommuteCache lastCommuteCache;
+
+    @MockBean
+    private AttendanceBoard attendanceBoard;
+
+    @MockBean
+    private IdempotencyCache idempotencyCache;
+
+    // write-behind 모드로 실행
+    @MockBean
+    private CommuteWriteBehind commuteWriteBehind;
+
+    @SpyBean
+    private PasswordHashingService passwordHashing;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private LoginTokenService loginTokenService;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
     private Employee testEmployee;
     private Map<String, String> loginCredentials;
 
     @BeforeEach
     void setUp() {
+        // 컨텍스트가 공유되므로 이전 테스트가 채운 캐시를 비움
+        employeeCache.invalidateAll();
+
         testEmployee = new Employee();
         testEmployee.setEmployeeId("EMP001");
         testEmployee.setEmployeeName("John Doe");
@@ -113,6 +167,115 @@ class EmployeeControllerTest {
         verify(passwordEncoder, never()).matches(anyString(), anyString());
     }
 
+    @Test
+    void should_issueToken_when_loginWithValidCredentials() throws Exception {
+        // Given
+        when(employeeRepository.findByEmployeeId("EMP001")).thenReturn(Optional.of(testEmployee));
+        when(passwordEncoder.matches("plainPassword", "$2a$10$encodedPassword")).thenReturn(true);
+
+        // When
+        String token = mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginCredentials)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Auth-Token"))
+                .andReturn().getResponse().getHeader("X-Auth-Token");
+
+        // Then
+        assertThat(loginTokenService.verify(token)).isPresent();
+    }
+
+    @Test
+    void should_skipPasswordCheck_when_loginWithValidToken() throws Exception {
+        // Given
+        String token = loginTokenService.issue(testEmployee);
+        when(employeeRepository.findByEmployeeId("EMP001")).thenReturn(Optional.of(testEmployee));
+
+        // When & Then
+        mockMvc.perform(post("/api/login")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employeeId").value("EMP001"));
+
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void should_return401_when_tokenIssuedBeforePasswordChange() throws Exception {
+        // Given
+        String token = loginTokenService.issue(testEmployee);
+        Employee changed = new Employee();
+        changed.setEmployeeId("EMP001");
+        changed.setEmployeePwd("$2a$10$changedPassword");
+        when(employeeRepository.findByEmployeeId("EMP001")).thenReturn(Optional.of(changed));
+
+        // When & Then
+        mockMvc.perform(post("/api/login")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string("Invalid token"));
+
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void should_fallBackToPassword_when_tokenInvalidAndCredentialsProvided() throws Exception {
+        // Given
+        when(employeeRepository.findByEmployeeId("EMP001")).thenReturn(Optional.of(testEmployee));
+        when(passwordEncoder.matches("plainPassword", "$2a$10$encodedPassword")).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(post("/api/login")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer expired.token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginCredentials)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Auth-Token"));
+
+        verify(passwordEncoder).matches("plainPassword", "$2a$10$encodedPassword");
+    }
+
+    @Test
+    void should_reportLoginCpuTimeByKind_when_metricsRequested() throws Exception {
+        // Given - 컨텍스트가 테스트 간에 공유되므로 누적 값은 최소치만 확인
+        when(employeeRepository.findByEmployeeId("EMP001")).thenReturn(Optional.of(testEmployee));
+        mockMvc.perform(post("/api/login")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + loginTokenService.issue(testEmployee)));
+
+        // When & Then
+        mockMvc.perform(get("/api/login/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.logins.TOKEN.count", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.logins.PASSWORD.avgMicros").isNumber());
+    }
+
+    @Test
+    void should_return503WithRetryAfter_when_passwordHashingSaturated() throws Exception {
+        // Given
+        when(employeeRepository.findByEmployeeId("EMP001")).thenReturn(Optional.of(testEmployee));
+        doThrow(new PasswordHashingService.SaturatedException(2))
+                .when(passwordHashing).matches("plainPassword", "$2a$10$encodedPassword");
+
+        // When & Then
+        mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginCredentials)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void should_reportPoolState_when_hashingStatsRequested() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/login/hashing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.poolSize").isNumber())
+                .andExpect(jsonPath("$.queueCapacity").value(64))
+                .andExpect(jsonPath("$.queueDepth").value(0));
+    }
+
     @Test
     void should_createEmployeeWithEncodedPassword_when_validEmployeeProvided() throws Exception {
         // Given
@@ -178,6 +341,48 @@ class EmployeeControllerTest {
         verify(employeeRepository).findByEmployeeId("EMP001");
     }
 
+    @Test
+    void should_serveRepeatedLookupFromCacheWithoutPassword_when_getEmployeeById() throws Exception {
+        // Given
+        when(employeeRepository.findByEmployeeId("EMP001")).thenReturn(Optional.of(testEmployee));
+
+        // When
+        mockMvc.perform(get("/api/employees/EMP001")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees/EMP001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employeeId").value("EMP001"))
+                .andExpect(jsonPath("$.employeePwd").doesNotExist());
+
+        // Then
+        verify(employeeRepository, times(1)).findByEmployeeId("EMP001");
+        mockMvc.perform(get("/api/employees/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.size").value(1));
+    }
+
+    @Test
+    void should_reloadEmployee_when_updatedAfterCaching() throws Exception {
+        // Given
+        when(employeeRepository.findByEmployeeId("EMP001")).thenReturn(Optional.of(testEmployee));
+        when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
+        mockMvc.perform(get("/api/employees/EMP001")).andExpect(status().isOk());
+        Employee updateData = new Employee();
+        updateData.setEmployeeName("John Doe");
+        updateData.setWorkPlaceName("Busan Office");
+
+        // When
+        mockMvc.perform(put("/api/employees/EMP001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateData)))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/employees/EMP001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workPlaceName").value("Busan Office"));
+    }
+
     @Test
     void should_return404_when_getEmployeeByInvalidId() throws Exception {
         // Given
@@ -266,26 +471,75 @@ class EmployeeControllerTest {
     @Test
     void should_deleteEmployee_when_validEmployeeIdProvided() throws Exception {
         // Given
-        when(employeeRepository.findByEmployeeId("EMP001")).thenReturn(Optional.of(testEmployee));
+        when(employeeDeletionService.delete("EMP001")).thenReturn(Optional.of(
+                new EmployeeDeletionService.Result("EMP001", "김테스트", 120, 35, 4, 1)));
 
         // When & Then
         mockMvc.perform(delete("/api/employees/EMP001"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employeeId").value("EMP001"))
+                .andExpect(jsonPath("$.commutes").value(120))
+                .andExpect(jsonPath("$.orders").value(35))
+                .andExpect(jsonPath("$.monthlySummaries").value(4))
+                .andExpect(jsonPath("$.employees").value(1));
 
-        verify(employeeRepository).findByEmployeeId("EMP001");
-        verify(employeeRepository).delete(testEmployee);
+        verify(employeeRepository, never()).delete(any(Employee.class));
+        verify(lastCommuteCache).evict("EMP001", "김테스트");
+        verify(attendanceBoard).remove("EMP001");
+
+        InOrder order = inOrder(commuteWriteBehind, employeeDeletionService);
+        order.verify(commuteWriteBehind).flushIfPending("EMP001");
+        order.verify(employeeDeletionService).delete("EMP001");
+
+        ArgumentCaptor<Predicate<Object>> evicted = ArgumentCaptor.forClass(Predicate.class);
+        verify(idempotencyCache).evictIf(evicted.capture());
+        Commute own = new Commute();
+        own.setEmployeeId("EMP001");
+        Commute other = new Commute();
+        other.setEmployeeId("EMP002");
+        assertThat(evicted.getValue().test(own)).isTrue();
+        assertThat(evicted.getValue().test(other)).isFalse();
     }
 
     @Test
     void should_return404_when_deleteNonExistentEmployee() throws Exception {
         // Given
-        when(employeeRepository.findByEmployeeId("NONEXISTENT")).thenReturn(Optional.empty());
+        when(employeeDeletionService.delete("NONEXISTENT")).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(delete("/api/employees/NONEXISTENT"))
                 .andExpect(status().isNotFound());
 
-        verify(employeeRepository).findByEmployeeId("NONEXISTENT");
+        verify(employeeDeletionService).delete("NONEXISTENT");
         verify(employeeRepository, never()).delete(any(Employee.class));
+        verify(attendanceBoard, never()).remove(anyString());
+    }
+
+    @Test
+    void should_returnEmployeePage_when_pageRequested() throws Exception {
+        // Given
+        when(employeeRepository.findAllByOrderByEmployeeIdAscEmployeeNameAsc(PageRequest.of(0, 1)))
+                .thenReturn(List.of(testEmployee));
+
+        // When & Then
+        mockMvc.perform(get("/api/employees/page").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].employeeId").value("EMP001"))
+                .andExpect(jsonPath("$.nextCursor").value(KeysetCursor.encode("EMP001", "John Doe")));
+
+        verify(employeeRepository, never()).findAll();
+    }
+
+    @Test
+    void should_continueEmployeePageAfterCursor_when_cursorProvided() throws Exception {
+        // Given
+        when(employeeRepository.findPageAfter("EMP001", "John Doe", PageRequest.of(0, 100)))
+                .thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/employees/page").param("cursor", KeysetCursor.encode("EMP001", "John Doe")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
     }
-}
\ No newline at end of file
+}
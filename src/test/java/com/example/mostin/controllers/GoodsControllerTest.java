@@ -1,25 +1,39 @@
 package com.example.mostin.controllers;
 
 import com.example.mostin.models.Goods;
+import com.example.mostin.pagination.KeysetCursor;
 import com.example.mostin.repositories.GoodsRepository;
+import com.example.mostin.services.CatalogVersions;
+import com.example.mostin.services.GoodsCatalogCache;
+import com.example.mostin.services.GoodsChangeLog;
+import com.example.mostin.services.GoodsImportService;
+import com.example.mostin.services.ResponseStreamer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(GoodsController.class)
+@Import({CatalogVersions.class, GoodsChangeLog.class})
 class GoodsControllerTest {
 
     @Autowired
@@ -28,9 +42,21 @@ class GoodsControllerTest {
     @MockBean
     private GoodsRepository goodsRepository;
 
+    @MockBean
+    private GoodsCatalogCache goodsCatalogCache;
+
+    @MockBean
+    private ResponseStreamer responseStreamer;
+
+    @MockBean
+    private GoodsImportService goodsImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     private Goods testGoods;
 
     @BeforeEach
@@ -183,4 +209,300 @@ class GoodsControllerTest {
 
         verify(goodsRepository).save(any(Goods.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_deleteGoods_when_barcodeExists() throws Exception {
+        // Given
+        when(goodsRepository.findFirstByBarcode("1234567890")).thenReturn(Optional.of(testGoods));
+
+        // When & Then
+        mockMvc.perform(delete("/api/goods/{barcode}", "1234567890"))
+                .andExpect(status().isOk());
+
+        verify(goodsRepository).findFirstByBarcode("1234567890");
+        verify(goodsRepository).delete(testGoods);
+        verify(goodsRepository, never()).findAll();
+    }
+
+    @Test
+    void should_return404_when_deletingUnknownBarcode() throws Exception {
+        // Given
+        when(goodsRepository.findFirstByBarcode("0000000000")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(delete("/api/goods/{barcode}", "0000000000"))
+                .andExpect(status().isNotFound());
+
+        verify(goodsRepository, never()).delete(any(Goods.class));
+        verify(goodsRepository, never()).findAll();
+    }
+
+    @Test
+    void should_updateGoodsName_when_barcodeExists() throws Exception {
+        // Given
+        Goods details = new Goods();
+        details.setGoodsName("Renamed Product");
+
+        when(goodsRepository.findFirstByBarcode("1234567890")).thenReturn(Optional.of(testGoods));
+        when(goodsRepository.save(any(Goods.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When & Then
+        mockMvc.perform(put("/api/goods/{barcode}", "1234567890")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(details)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.barcode").value("1234567890"))
+                .andExpect(jsonPath("$.goodsName").value("Renamed Product"));
+
+        verify(goodsRepository).findFirstByBarcode("1234567890");
+        verify(goodsRepository, never()).findAll();
+    }
+
+    @Test
+    void should_return404_when_updatingUnknownBarcode() throws Exception {
+        // Given
+        when(goodsRepository.findFirstByBarcode("0000000000")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(put("/api/goods/{barcode}", "0000000000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testGoods)))
+                .andExpect(status().isNotFound());
+
+        verify(goodsRepository, never()).save(any(Goods.class));
+    }
+
+    @Test
+    void should_returnGoodsFromCache_when_barcodeScanned() throws Exception {
+        // Given
+        when(goodsCatalogCache.findByBarcode("1234567890")).thenReturn(List.of(testGoods));
+
+        // When & Then
+        mockMvc.perform(get("/api/goods/{barcode}", "1234567890"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].goodsName").value("Sample Product"));
+
+        verify(goodsCatalogCache).findByBarcode("1234567890");
+        verifyNoInteractions(goodsRepository);
+    }
+
+    @Test
+    void should_return404_when_scannedBarcodeNotInCatalog() throws Exception {
+        // Given
+        when(goodsCatalogCache.findByBarcode("0000000000")).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/goods/{barcode}", "0000000000"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_searchGoodsByNamePrefix_when_prefixProvided() throws Exception {
+        // Given
+        when(goodsCatalogCache.searchByNamePrefix("Sam", 50)).thenReturn(List.of(testGoods));
+
+        // When & Then
+        mockMvc.perform(get("/api/goods/search").param("prefix", "Sam"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].barcode").value("1234567890"));
+
+        verify(goodsCatalogCache).searchByNamePrefix("Sam", 50);
+        verifyNoInteractions(goodsRepository);
+    }
+
+    @Test
+    void should_returnCacheStats_when_requested() throws Exception {
+        // Given
+        when(goodsCatalogCache.stats()).thenReturn(new GoodsCatalogCache.Stats(10, 2, 1, 3));
+
+        // When & Then
+        mockMvc.perform(get("/api/goods/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(10))
+                .andExpect(jsonPath("$.misses").value(2))
+                .andExpect(jsonPath("$.evictions").value(1))
+                .andExpect(jsonPath("$.size").value(3));
+    }
+
+    @Test
+    void should_invalidateCatalogCache_when_goodsWritten() throws Exception {
+        // Given
+        when(goodsRepository.save(any(Goods.class))).thenReturn(testGoods);
+        when(goodsRepository.findFirstByBarcode("1234567890")).thenReturn(Optional.of(testGoods));
+
+        // When
+        mockMvc.perform(post("/api/goods")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testGoods)))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/goods/{barcode}", "1234567890")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testGoods)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/goods/{barcode}", "1234567890"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(goodsCatalogCache, times(3)).invalidate();
+    }
+
+    @Test
+    void should_returnFirstPageWithCursor_when_pageIsFull() throws Exception {
+        // Given
+        Goods goods2 = new Goods();
+        goods2.setBarcode("2222222222");
+        goods2.setGoodsName("Product B");
+        when(goodsRepository.findAllByOrderByBarcodeAscGoodsNameAsc(PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(testGoods, goods2));
+
+        // When & Then
+        mockMvc.perform(get("/api/goods/page").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(KeysetCursor.encode("2222222222", "Product B")));
+    }
+
+    @Test
+    void should_continueAfterCursorKey_when_cursorProvided() throws Exception {
+        // Given
+        String cursor = KeysetCursor.encode("1111111111", "Product A");
+        when(goodsRepository.findPageAfter("1111111111", "Product A", PageRequest.of(0, 100)))
+                .thenReturn(List.of(testGoods));
+
+        // When & Then
+        mockMvc.perform(get("/api/goods/page").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].barcode").value("1234567890"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(goodsRepository).findPageAfter("1111111111", "Product A", PageRequest.of(0, 100));
+        verify(goodsRepository, never()).findAll();
+    }
+
+    @Test
+    void should_return400_when_cursorIsMalformed() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/goods/page").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return304_when_catalogUnchangedSinceETag() throws Exception {
+        // Given
+        when(goodsRepository.findAll()).thenReturn(List.of(testGoods));
+        MvcResult first = mockMvc.perform(get("/api/goods"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/goods").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        verify(goodsRepository, times(1)).findAll();
+    }
+
+    @Test
+    void should_issueNewETag_when_goodsCreatedAfterListing() throws Exception {
+        // Given
+        when(goodsRepository.findAll()).thenReturn(List.of(testGoods));
+        when(goodsRepository.save(any(Goods.class))).thenReturn(testGoods);
+        String etag = mockMvc.perform(get("/api/goods"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/goods")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testGoods)))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/api/goods").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void should_returnOnlyChangesSinceVersion_when_deltaRequested() throws Exception {
+        // Given
+        long since = catalogVersions.goods();
+        when(goodsRepository.save(any(Goods.class))).thenReturn(testGoods);
+        when(goodsRepository.findFirstByBarcode("1234567890")).thenReturn(Optional.of(testGoods));
+
+        mockMvc.perform(post("/api/goods")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testGoods)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/goods/{barcode}", "1234567890"))
+                .andExpect(status().isOk());
+
+        // When & Then - the upsert was compacted away by the later delete of the same key
+        mockMvc.perform(get("/api/goods/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullResync").value(false))
+                .andExpect(jsonPath("$.version").value(catalogVersions.goods()))
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].type").value("DELETE"))
+                .andExpect(jsonPath("$.changes[0].barcode").value("1234567890"));
+
+        verify(goodsRepository, never()).findAll();
+    }
+
+    @Test
+    void should_requestFullResync_when_sinceIsUnknown() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/goods/changes").param("since", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullResync").value(true))
+                .andExpect(jsonPath("$.changes.length()").value(0));
+    }
+
+    @Test
+    void should_returnImportCounts_when_jsonArrayImported() throws Exception {
+        // Given
+        when(goodsImportService.importJson(any())).thenReturn(new GoodsImportService.Result(2, 1, 0, 0));
+
+        // When & Then
+        mockMvc.perform(post("/api/goods/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"barcode\":\"1\",\"goodsName\":\"A\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.alreadyPresent").value(1));
+
+        verify(goodsImportService).importJson(any());
+        verify(goodsRepository, never()).save(any(Goods.class));
+    }
+
+    @Test
+    void should_importCsvBody_when_contentTypeIsCsv() throws Exception {
+        // Given
+        when(goodsImportService.importCsv(any())).thenReturn(new GoodsImportService.Result(1, 0, 0, 0));
+
+        // When & Then
+        mockMvc.perform(post("/api/goods/import")
+                        .contentType("text/csv")
+                        .content("barcode,goodsName\n1,A\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1));
+
+        verify(goodsImportService).importCsv(any());
+    }
+
+    @Test
+    void should_return400_when_importPayloadIsNotAnArray() throws Exception {
+        // Given
+        when(goodsImportService.importJson(any())).thenThrow(new IllegalArgumentException("Expected a JSON array of goods"));
+
+        // When & Then
+        mockMvc.perform(post("/api/goods/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Expected a JSON array of goods"));
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.mostin.controllers;
 
+import com.example.mostin.models.OrderDaySummary;
 import com.example.mostin.models.Ordering;
+import com.example.mostin.pagination.KeysetCursor;
 import com.example.mostin.repositories.OrderingRepository;
+import com.example.mostin.services.OrderBatchService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -16,8 +21,10 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,6 +39,9 @@ class OrderingControllerTest {
     @MockBean
     private OrderingRepository orderingRepository;
 
+    @MockBean
+    private OrderBatchService orderBatchService;
+
     private ObjectMapper objectMapper;
 
     private Ordering testOrdering;
@@ -100,7 +110,7 @@ class OrderingControllerTest {
         order2.setBarcode("2222222222");
         order2.setGoodsName("Product B");
 
-        when(orderingRepository.findByEmployeeIdOrderByOrderingDayDesc("EMP001"))
+        when(orderingRepository.findByEmployeeIdOrderByOrderingDayDescBarcodeAsc("EMP001", PageRequest.of(0, 100)))
                 .thenReturn(Arrays.asList(order1, order2));
 
         // When & Then
@@ -114,13 +124,13 @@ class OrderingControllerTest {
                 .andExpect(jsonPath("$[0].goodsName").value("Product A"))
                 .andExpect(jsonPath("$[1].goodsName").value("Product B"));
 
-        verify(orderingRepository).findByEmployeeIdOrderByOrderingDayDesc("EMP001");
+        verify(orderingRepository).findByEmployeeIdOrderByOrderingDayDescBarcodeAsc("EMP001", PageRequest.of(0, 100));
     }
 
     @Test
     void should_returnEmptyList_when_noOrdersFoundForEmployee() throws Exception {
         // Given
-        when(orderingRepository.findByEmployeeIdOrderByOrderingDayDesc("EMP999"))
+        when(orderingRepository.findByEmployeeIdOrderByOrderingDayDescBarcodeAsc("EMP999", PageRequest.of(0, 100)))
                 .thenReturn(Collections.emptyList());
 
         // When & Then
@@ -130,7 +140,7 @@ class OrderingControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(orderingRepository).findByEmployeeIdOrderByOrderingDayDesc("EMP999");
+        verify(orderingRepository).findByEmployeeIdOrderByOrderingDayDescBarcodeAsc("EMP999", PageRequest.of(0, 100));
     }
 
     @Test
@@ -169,7 +179,7 @@ class OrderingControllerTest {
     @Test
     void should_returnOrderHistory_when_getOrderHistoryEndpoint() throws Exception {
         // Given  
-        when(orderingRepository.findByEmployeeIdOrderByOrderingDayDesc("EMP001"))
+        when(orderingRepository.findByEmployeeIdOrderByOrderingDayDescBarcodeAsc("EMP001", PageRequest.of(0, 100)))
                 .thenReturn(Arrays.asList(testOrdering));
 
         // When & Then
@@ -180,7 +190,39 @@ class OrderingControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].employeeId").value("EMP001"));
 
-        verify(orderingRepository).findByEmployeeIdOrderByOrderingDayDesc("EMP001");
+        verify(orderingRepository).findByEmployeeIdOrderByOrderingDayDescBarcodeAsc("EMP001", PageRequest.of(0, 100));
+    }
+
+    @Test
+    void should_capLegacyListAndSendCursor_when_moreOrdersExist() throws Exception {
+        // Given
+        when(orderingRepository.findByEmployeeIdOrderByOrderingDayDescBarcodeAsc("EMP001", PageRequest.of(0, 1)))
+                .thenReturn(List.of(testOrdering));
+
+        // When & Then
+        mockMvc.perform(get("/api/orders/history")
+                        .param("employeeId", "EMP001")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string(OrderingController.NEXT_CURSOR_HEADER,
+                        KeysetCursor.encode("2024-01-15", "1234567890")));
+
+        verify(orderingRepository, never()).findByEmployeeIdOrderByOrderingDayDesc(anyString());
+    }
+
+    @Test
+    void should_omitCursorHeader_when_legacyListFitsOnePage() throws Exception {
+        // Given
+        when(orderingRepository.findByEmployeeIdOrderByOrderingDayDescBarcodeAsc("EMP001", PageRequest.of(0, KeysetCursor.MAX_PAGE_SIZE)))
+                .thenReturn(List.of(testOrdering));
+
+        // When & Then - oversized requests are clamped
+        mockMvc.perform(get("/api/orders")
+                        .param("employeeId", "EMP001")
+                        .param("size", "1000000"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(OrderingController.NEXT_CURSOR_HEADER));
     }
 
     @Test
@@ -188,14 +230,14 @@ class OrderingControllerTest {
         // Given
         LocalDate today = LocalDate.now();
         
-        // Use doNothing() for void method
-        doNothing().when(orderingRepository).deleteByEmployeeIdAndOrderingDay("EMP001", today);
+        when(orderingRepository.deleteByEmployeeIdAndOrderingDay("EMP001", today)).thenReturn(3);
 
         // When & Then
         mockMvc.perform(delete("/api/orders")
                         .param("employeeId", "EMP001")
                         .param("date", "2024-01-15")) // Note: The controller uses today's date, not the provided date
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(3));
 
         // Verify the transactional delete was called with today's date (not the provided date)
         verify(orderingRepository).deleteByEmployeeIdAndOrderingDay("EMP001", today);
@@ -206,13 +248,14 @@ class OrderingControllerTest {
         // Given
         LocalDate today = LocalDate.now();
         
-        doNothing().when(orderingRepository).deleteByEmployeeIdAndOrderingDay("EMP001", today);
+        when(orderingRepository.deleteByEmployeeIdAndOrderingDay("EMP001", today)).thenReturn(0);
 
         // When & Then
         mockMvc.perform(delete("/api/orders")
                         .param("employeeId", "EMP001")
                         .param("date", "some-irrelevant-date"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(0));
 
         // Verify it always uses today's date regardless of the date parameter
         verify(orderingRepository).deleteByEmployeeIdAndOrderingDay("EMP001", today);
@@ -298,4 +341,106 @@ class OrderingControllerTest {
 
         verify(orderingRepository).save(any(Ordering.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_returnPerLineResults_when_orderSheetSubmitted() throws Exception {
+        // Given
+        OrderBatchService.OrderSheet sheet = new OrderBatchService.OrderSheet("EMP001", "John Doe", List.of(
+                new OrderBatchService.OrderLine("1111111111", "Product A", 2),
+                new OrderBatchService.OrderLine("2222222222", "Product B", 0)));
+        OrderBatchService.Result result = new OrderBatchService.Result(LocalDate.now(), 1, 0, 1, List.of(
+                new OrderBatchService.LineResult(0, "1111111111", OrderBatchService.LineStatus.CREATED, null),
+                new OrderBatchService.LineResult(1, "2222222222", OrderBatchService.LineStatus.REJECTED, "boxNum must be positive")));
+        when(orderBatchService.submit(eq(sheet), eq(LocalDate.now()))).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sheet)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.lines[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.lines[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.lines[1].message").value("boxNum must be positive"));
+
+        verify(orderingRepository, never()).save(any(Ordering.class));
+    }
+
+    @Test
+    void should_return400_when_orderSheetInvalid() throws Exception {
+        // Given
+        when(orderBatchService.submit(any(), any())).thenThrow(new IllegalArgumentException("Order sheet has no lines"));
+
+        // When & Then
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"employeeId\":\"EMP001\",\"lines\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Order sheet has no lines"));
+    }
+
+    @Test
+    void should_returnHistoryPage_when_historyPageRequested() throws Exception {
+        // Given
+        when(orderingRepository.findByEmployeeIdOrderByOrderingDayDescBarcodeAsc("EMP001", PageRequest.of(0, 1)))
+                .thenReturn(List.of(testOrdering));
+
+        // When & Then
+        mockMvc.perform(get("/api/orders/history/page")
+                        .param("employeeId", "EMP001")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].barcode").value("1234567890"))
+                .andExpect(jsonPath("$.nextCursor").value(KeysetCursor.encode("2024-01-15", "1234567890")));
+
+        verify(orderingRepository, never()).findByEmployeeIdOrderByOrderingDayDesc(anyString());
+    }
+
+    @Test
+    void should_continueHistoryAfterCursor_when_cursorProvided() throws Exception {
+        // Given
+        when(orderingRepository.findHistoryPageAfter("EMP001", LocalDate.of(2024, 1, 15), "1234567890", PageRequest.of(0, 100)))
+                .thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/orders/history/page")
+                        .param("employeeId", "EMP001")
+                        .param("cursor", KeysetCursor.encode("2024-01-15", "1234567890")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_returnBadRequest_when_historyCursorIsMalformed() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/orders/history/page")
+                        .param("employeeId", "EMP001")
+                        .param("cursor", KeysetCursor.encode("not-a-date", "1234567890")))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderingRepository);
+    }
+
+    @Test
+    void should_returnDailySummary_when_historySummaryRequested() throws Exception {
+        // Given
+        OrderDaySummary day = new SpelAwareProxyProjectionFactory().createProjection(OrderDaySummary.class, Map.of(
+                "orderingDay", LocalDate.of(2024, 1, 15),
+                "lineCount", 2L,
+                "totalBoxes", 7L,
+                "distinctBarcodes", 2L));
+        when(orderingRepository.summarizeByDay("EMP001")).thenReturn(List.of(day));
+
+        // When & Then
+        mockMvc.perform(get("/api/orders/history/summary").param("employeeId", "EMP001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orderingDay").value("2024-01-15"))
+                .andExpect(jsonPath("$[0].lineCount").value(2))
+                .andExpect(jsonPath("$[0].totalBoxes").value(7))
+                .andExpect(jsonPath("$[0].distinctBarcodes").value(2));
+
+        verify(orderingRepository, never()).findByEmployeeIdOrderByOrderingDayDesc(anyString());
+    }
+}
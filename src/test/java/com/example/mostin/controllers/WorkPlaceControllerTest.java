@@ -1,26 +1,39 @@
 package com.example.mostin.controllers;
 
 import com.example.mostin.models.WorkPlace;
+import com.example.mostin.pagination.KeysetCursor;
 import com.example.mostin.repositories.WorkPlaceRepository;
+import com.example.mostin.services.CatalogVersions;
+import com.example.mostin.services.ResponseStreamer;
+import com.example.mostin.services.WorkPlaceLocator;
+import com.example.mostin.services.WorkPlaceRegistry;
+import com.example.mostin.services.WorkPlaceSpatialIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Optional;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(WorkPlaceController.class)
+@Import({CatalogVersions.class, WorkPlaceRegistry.class})
 class WorkPlaceControllerTest {
 
     @Autowired
@@ -29,9 +42,18 @@ class WorkPlaceControllerTest {
     @MockBean
     private WorkPlaceRepository workPlaceRepository;
 
+    @MockBean
+    private ResponseStreamer responseStreamer;
+
+    @MockBean
+    private WorkPlaceLocator workPlaceLocator;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private WorkPlaceRegistry workPlaceRegistry;
+
     private WorkPlace testWorkPlace;
 
     @BeforeEach
@@ -40,6 +62,14 @@ class WorkPlaceControllerTest {
         testWorkPlace.setWorkPlaceName("Main Office");
         testWorkPlace.setLatitude(37.5665);
         testWorkPlace.setLongitude(126.9780);
+        givenWorkPlaces();
+    }
+
+    // 레지스트리를 주어진 행으로 다시 적재하고 적재 시의 조회 기록은 지움
+    private void givenWorkPlaces(WorkPlace... workPlaces) {
+        when(workPlaceRepository.findAll()).thenReturn(Arrays.asList(workPlaces));
+        workPlaceRegistry.load();
+        clearInvocations(workPlaceRepository);
     }
 
     @Test
@@ -55,7 +85,7 @@ class WorkPlaceControllerTest {
         workPlace2.setLatitude(35.1796);
         workPlace2.setLongitude(129.0756);
 
-        when(workPlaceRepository.findAll()).thenReturn(Arrays.asList(workPlace1, workPlace2));
+        givenWorkPlaces(workPlace1, workPlace2);
 
         // When & Then
         mockMvc.perform(get("/api/workplaces"))
@@ -69,13 +99,13 @@ class WorkPlaceControllerTest {
                 .andExpect(jsonPath("$[1].latitude").value(35.1796))
                 .andExpect(jsonPath("$[1].longitude").value(129.0756));
 
-        verify(workPlaceRepository).findAll();
+        verifyNoInteractions(workPlaceRepository);
     }
 
     @Test
     void should_returnEmptyList_when_noWorkPlacesExist() throws Exception {
         // Given
-        when(workPlaceRepository.findAll()).thenReturn(Collections.emptyList());
+        givenWorkPlaces();
 
         // When & Then
         mockMvc.perform(get("/api/workplaces"))
@@ -83,7 +113,7 @@ class WorkPlaceControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(workPlaceRepository).findAll();
+        verifyNoInteractions(workPlaceRepository);
     }
 
     @Test
@@ -117,7 +147,7 @@ class WorkPlaceControllerTest {
     void should_returnWorkPlace_when_getWorkPlaceByValidName() throws Exception {
         // Given
         String workPlaceName = "Main Office";
-        when(workPlaceRepository.findById(workPlaceName)).thenReturn(Optional.of(testWorkPlace));
+        givenWorkPlaces(testWorkPlace);
 
         // When & Then
         mockMvc.perform(get("/api/workplaces/{name}", workPlaceName))
@@ -126,33 +156,33 @@ class WorkPlaceControllerTest {
                 .andExpect(jsonPath("$.latitude").value(37.5665))
                 .andExpect(jsonPath("$.longitude").value(126.9780));
 
-        verify(workPlaceRepository).findById(workPlaceName);
+        verifyNoInteractions(workPlaceRepository);
     }
 
     @Test
     void should_return404_when_getWorkPlaceByInvalidName() throws Exception {
         // Given
         String workPlaceName = "Nonexistent Office";
-        when(workPlaceRepository.findById(workPlaceName)).thenReturn(Optional.empty());
+        givenWorkPlaces(testWorkPlace);
 
         // When & Then
         mockMvc.perform(get("/api/workplaces/{name}", workPlaceName))
                 .andExpect(status().isNotFound());
 
-        verify(workPlaceRepository).findById(workPlaceName);
+        verifyNoInteractions(workPlaceRepository);
     }
 
     @Test
     void should_handleSpecialCharactersInWorkPlaceName_when_getWorkPlaceByName() throws Exception {
         // Given
         String workPlaceName = "Office & Co.";
-        when(workPlaceRepository.findById(workPlaceName)).thenReturn(Optional.of(testWorkPlace));
+        testWorkPlace.setWorkPlaceName(workPlaceName);
+        givenWorkPlaces(testWorkPlace);
 
         // When & Then
         mockMvc.perform(get("/api/workplaces/{name}", workPlaceName))
-                .andExpect(status().isOk());
-
-        verify(workPlaceRepository).findById(workPlaceName);
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workPlaceName").value(workPlaceName));
     }
 
     @Test
@@ -160,13 +190,11 @@ class WorkPlaceControllerTest {
         // Given - Empty path variable might cause 404 before reaching controller
         // So we'll test with a space character instead
         String workPlaceName = " ";
-        when(workPlaceRepository.findById(workPlaceName)).thenReturn(Optional.empty());
+        givenWorkPlaces(testWorkPlace);
 
         // When & Then
         mockMvc.perform(get("/api/workplaces/{name}", workPlaceName))
                 .andExpect(status().isNotFound());
-
-        verify(workPlaceRepository).findById(workPlaceName);
     }
 
     @Test
@@ -197,7 +225,7 @@ class WorkPlaceControllerTest {
     @Test
     void should_handleContentTypeJson_when_requestingAllWorkPlaces() throws Exception {
         // Given
-        when(workPlaceRepository.findAll()).thenReturn(Collections.emptyList());
+        givenWorkPlaces();
 
         // When & Then
         mockMvc.perform(get("/api/workplaces")
@@ -205,7 +233,7 @@ class WorkPlaceControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
 
-        verify(workPlaceRepository).findAll();
+        verifyNoInteractions(workPlaceRepository);
     }
 
     @Test
@@ -244,14 +272,128 @@ class WorkPlaceControllerTest {
     void should_handleUrlEncodedWorkPlaceName_when_getWorkPlaceByName() throws Exception {
         // Given
         String workPlaceName = "Office Building 1";  // Simplified name without special characters
-        
-        when(workPlaceRepository.findById(workPlaceName)).thenReturn(Optional.of(testWorkPlace));
+        testWorkPlace.setWorkPlaceName(workPlaceName);
+        givenWorkPlaces(testWorkPlace);
 
         // When & Then
         // Use path variable instead of string concatenation
         mockMvc.perform(get("/api/workplaces/{name}", workPlaceName))
                 .andExpect(status().isOk());
+    }
+
+    @Test
+    void should_returnWorkPlacePage_when_cursorProvided() throws Exception {
+        // Given
+        when(workPlaceRepository.findByWorkPlaceNameGreaterThanOrderByWorkPlaceNameAsc("Busan Office", PageRequest.of(0, 1)))
+                .thenReturn(List.of(testWorkPlace));
+
+        // When & Then
+        mockMvc.perform(get("/api/workplaces/page")
+                        .param("size", "1")
+                        .param("cursor", KeysetCursor.encode("Busan Office")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].workPlaceName").value("Main Office"))
+                .andExpect(jsonPath("$.nextCursor").value(KeysetCursor.encode("Main Office")));
+
+        verify(workPlaceRepository, never()).findAll();
+    }
+
+    @Test
+    void should_return304_when_workPlacesUnchangedSinceETag() throws Exception {
+        // Given
+        givenWorkPlaces(testWorkPlace);
+        String etag = mockMvc.perform(get("/api/workplaces"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/workplaces").header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(workPlaceRepository);
+    }
+
+    @Test
+    void should_invalidateETag_when_workPlaceCreated() throws Exception {
+        // Given
+        givenWorkPlaces(testWorkPlace);
+        when(workPlaceRepository.save(any(WorkPlace.class))).thenReturn(testWorkPlace);
+        String etag = mockMvc.perform(get("/api/workplaces"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/workplaces")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testWorkPlace)))
+                .andExpect(status().isOk());
 
-        verify(workPlaceRepository).findById(workPlaceName);
+        // When & Then
+        mockMvc.perform(get("/api/workplaces").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void should_serveNewWorkPlaceFromMemory_when_workPlaceCreated() throws Exception {
+        // Given
+        long version = workPlaceRegistry.snapshot().version();
+        when(workPlaceRepository.save(any(WorkPlace.class))).thenReturn(testWorkPlace);
+
+        // When
+        mockMvc.perform(post("/api/workplaces")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testWorkPlace)))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/workplaces/{name}", "Main Office"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.latitude").value(37.5665));
+        mockMvc.perform(get("/api/workplaces/version"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1));
+        assertThat(workPlaceRegistry.snapshot().index().get("Main Office")).isNotNull();
+        verify(workPlaceRepository, never()).findById(anyString());
+        verify(workPlaceRepository, never()).findAll();
+    }
+
+    @Test
+    void should_returnNearestWorkPlaces_when_positionProvided() throws Exception {
+        // Given
+        when(workPlaceLocator.nearest(37.57, 126.98, 2))
+                .thenReturn(List.of(new WorkPlaceSpatialIndex.Neighbor(testWorkPlace, 384.2)));
+
+        // When & Then
+        mockMvc.perform(get("/api/workplaces/nearest")
+                        .param("lat", "37.57")
+                        .param("lon", "126.98")
+                        .param("k", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].workPlace.workPlaceName").value("Main Office"))
+                .andExpect(jsonPath("$[0].distanceMeters").value(384.2));
+    }
+
+    @Test
+    void should_returnBadRequest_when_nearestLatitudeOutOfRange() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/workplaces/nearest")
+                        .param("lat", "91")
+                        .param("lon", "126.98"))
+                .andExpect(status().isBadRequest());
+
+        verify(workPlaceLocator, never()).nearest(anyDouble(), anyDouble(), anyInt());
+    }
+
+    @Test
+    void should_returnBadRequest_when_nearestPositionIsNotFinite() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/workplaces/nearest")
+                        .param("lat", "NaN")
+                        .param("lon", "126.98"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/workplaces/nearest")
+                        .param("lat", "37.57")
+                        .param("lon", "Infinity"))
+                .andExpect(status().isBadRequest());
+
+        verify(workPlaceLocator, never()).nearest(anyDouble(), anyDouble(), anyInt());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.example.mostin.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void should_roundTripKeyParts_when_partsContainSeparators() {
+        // Given
+        String cursor = KeysetCursor.encode("880.123", "아메리카노 / 대용량");
+
+        // When
+        String[] decoded = KeysetCursor.decode(cursor, 2);
+
+        // Then
+        assertThat(decoded).containsExactly("880.123", "아메리카노 / 대용량");
+    }
+
+    @Test
+    void should_reject_when_partCountDiffers() {
+        String cursor = KeysetCursor.encode("only-one");
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_reject_when_tokenIsNotBase64() {
+        assertThatThrownBy(() -> KeysetCursor.decode("@@@.###", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_clampPageSize_when_outOfRange() {
+        assertThat(KeysetCursor.clampPageSize(0)).isEqualTo(1);
+        assertThat(KeysetCursor.clampPageSize(50)).isEqualTo(50);
+        assertThat(KeysetCursor.clampPageSize(1_000_000)).isEqualTo(KeysetCursor.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void should_returnNextCursorOnlyForFullPages() {
+        assertThat(KeysetPage.of(List.of("a", "b"), 2, s -> s).nextCursor()).isEqualTo("b");
+        assertThat(KeysetPage.of(List.of("a"), 2, s -> s).nextCursor()).isNull();
+    }
+}
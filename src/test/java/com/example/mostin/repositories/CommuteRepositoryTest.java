@@ -547,4 +547,15 @@ class CommuteRepositoryTest {
         assertThat(latestCommute.get().getCommuteDay()).isEqualTo(LocalDate.of(2024, 3, 1));
         assertThat(latestCommute.get().getStartTime()).isEqualTo(LocalTime.of(22, 0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_createRecentCommuteIndex_when_schemaGenerated() {
+        // When
+        Object count = entityManager.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE UPPER(INDEX_NAME) = 'IDX_COMMUTE_EMPLOYEE_RECENT'")
+                .getSingleResult();
+
+        // Then
+        assertThat(((Number) count).intValue()).isPositive();
+    }
+}
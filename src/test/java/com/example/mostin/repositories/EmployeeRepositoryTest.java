@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -582,4 +583,15 @@ class EmployeeRepositoryTest {
         assertThat(employeeRepository.existsById(compositeId1)).isFalse();
         assertThat(employeeRepository.existsById(compositeId2)).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_returnEmployeesAfterCursor_when_pagingWithKeyset() {
+        // When
+        List<Employee> first = employeeRepository.findAllByOrderByEmployeeIdAscEmployeeNameAsc(PageRequest.of(0, 2));
+        List<Employee> second = employeeRepository.findPageAfter("EMP002", "박테스트", PageRequest.of(0, 2));
+
+        // Then
+        assertThat(first).extracting(Employee::getEmployeeId).containsExactly("EMP001", "EMP002");
+        assertThat(second).extracting(Employee::getEmployeeId).containsExactly("EMP003");
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.*;
 
@@ -666,4 +667,87 @@ class GoodsRepositoryTest {
         assertThat(goodsRepository.existsById(concurrentId)).isFalse();
         assertThat(goodsRepository.findById(concurrentId)).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_findGoodsByBarcode_when_barcodeExists() {
+        // When
+        List<Goods> found = goodsRepository.findByBarcode("1234567890124");
+
+        // Then
+        assertThat(found).hasSize(1);
+        assertThat(found.get(0).getGoodsName()).isEqualTo("라떼");
+    }
+
+    @Test
+    void should_findFirstGoodsByBarcode_when_barcodeExists() {
+        // When
+        Optional<Goods> found = goodsRepository.findFirstByBarcode("1234567890125");
+
+        // Then
+        assertThat(found).isPresent();
+        assertThat(found.get().getGoodsName()).isEqualTo("카푸치노");
+    }
+
+    @Test
+    void should_returnEmpty_when_findingFirstByUnknownBarcode() {
+        // When
+        Optional<Goods> found = goodsRepository.findFirstByBarcode("0000000000000");
+
+        // Then
+        assertThat(found).isEmpty();
+    }
+
+    @Test
+    void should_useIndexInsteadOfTableScan_when_lookingUpByBarcode() {
+        // Given - enough rows that a scan would be noticeable
+        for (int i = 0; i < 2000; i++) {
+            Goods goods = new Goods();
+            goods.setBarcode(String.format("880%010d", i));
+            goods.setGoodsName("상품" + i);
+            entityManager.persist(goods);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        String plan = entityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN SELECT * FROM goods WHERE barcode = '8800000001999'")
+                .getSingleResult()
+                .toString();
+
+        // Then - H2 reports a full scan as "tableScan"; a keyed lookup names the index instead
+        assertThat(plan).doesNotContain("tableScan");
+        assertThat(goodsRepository.findFirstByBarcode("8800000001999")).isPresent();
+    }
+
+    @Test
+    void should_walkCatalogInKeyOrder_when_pagingWithKeyset() {
+        // Given - same barcode with two names to exercise the second key column
+        Goods sameBarcode = new Goods();
+        sameBarcode.setBarcode("1234567890123");
+        sameBarcode.setGoodsName("아이스아메리카노");
+        entityManager.persistAndFlush(sameBarcode);
+        entityManager.clear();
+
+        // When
+        List<Goods> first = goodsRepository.findAllByOrderByBarcodeAscGoodsNameAsc(PageRequest.of(0, 2));
+        Goods last = first.get(first.size() - 1);
+        List<Goods> second = goodsRepository.findPageAfter(last.getBarcode(), last.getGoodsName(), PageRequest.of(0, 2));
+
+        // Then
+        assertThat(first).extracting(Goods::getGoodsName).containsExactly("아메리카노", "아이스아메리카노");
+        assertThat(second).extracting(Goods::getGoodsName).containsExactly("라떼", "카푸치노");
+    }
+
+    @Test
+    void should_streamAllGoods_when_streamingCatalog() {
+        // When
+        List<Goods> streamed;
+        try (java.util.stream.Stream<Goods> stream = goodsRepository.streamAll()) {
+            streamed = stream.toList();
+        }
+
+        // Then
+        assertThat(streamed).hasSize(3);
+    }
+}
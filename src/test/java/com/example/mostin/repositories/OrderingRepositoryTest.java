@@ -2,6 +2,7 @@ package com.example.mostin.repositories;
 
 import com.example.mostin.models.Employee;
 import com.example.mostin.models.Goods;
+import com.example.mostin.models.OrderDaySummary;
 import com.example.mostin.models.Ordering;
 import com.example.mostin.models.OrderingId;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,12 +10,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 class OrderingRepositoryTest {
@@ -656,4 +659,81 @@ class OrderingRepositoryTest {
             assertThat(dateOrderings).isEmpty();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_returnDeletedRowCount_when_bulkDeletingDay() {
+        // When
+        int deleted = orderingRepository.deleteByEmployeeIdAndOrderingDay("EMP001", LocalDate.of(2024, 1, 15));
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(orderingRepository.findByEmployeeId("EMP001")).hasSize(2);
+        assertThat(orderingRepository.deleteByEmployeeIdAndOrderingDay("EMP001", LocalDate.of(2023, 1, 1))).isZero();
+    }
+
+    @Test
+    void should_pageHistoryNewestFirst_when_pagingWithKeyset() {
+        // Given - a second line on the newest day to exercise the barcode tie-break
+        Ordering sameDay = new Ordering();
+        sameDay.setOrderingDay(LocalDate.of(2024, 1, 20));
+        sameDay.setEmployeeId("EMP001");
+        sameDay.setBarcode("1234567890123");
+        sameDay.setEmployeeName("김테스트");
+        sameDay.setBoxNum(4);
+        sameDay.setGoodsName("아메리카노");
+        entityManager.persistAndFlush(sameDay);
+        entityManager.clear();
+
+        // When
+        List<Ordering> first = orderingRepository.findByEmployeeIdOrderByOrderingDayDescBarcodeAsc("EMP001", PageRequest.of(0, 2));
+        Ordering last = first.get(first.size() - 1);
+        List<Ordering> second = orderingRepository.findHistoryPageAfter("EMP001", last.getOrderingDay(), last.getBarcode(), PageRequest.of(0, 2));
+
+        // Then
+        assertThat(first).extracting(Ordering::getOrderingDay, Ordering::getBarcode).containsExactly(
+                tuple(LocalDate.of(2024, 1, 20), "1234567890123"),
+                tuple(LocalDate.of(2024, 1, 20), "1234567890124"));
+        assertThat(second).extracting(Ordering::getOrderingDay, Ordering::getBarcode).containsExactly(
+                tuple(LocalDate.of(2024, 1, 16), "1234567890123"),
+                tuple(LocalDate.of(2024, 1, 15), "1234567890123"));
+        assertThat(orderingRepository.findHistoryPageAfter("EMP001", LocalDate.of(2024, 1, 15), "1234567890123", PageRequest.of(0, 2)))
+                .isEmpty();
+    }
+
+    @Test
+    void should_createEmployeeDayIndex_when_schemaGenerated() {
+        // When
+        Object count = entityManager.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE UPPER(INDEX_NAME) = 'IDX_ORDERING_EMPLOYEE_DAY'")
+                .getSingleResult();
+
+        // Then
+        assertThat(((Number) count).intValue()).isPositive();
+    }
+
+    @Test
+    void should_aggregateOrdersPerDay_when_summarizingHistory() {
+        // Given - a second line on 2024-01-15
+        Ordering sameDay = new Ordering();
+        sameDay.setOrderingDay(LocalDate.of(2024, 1, 15));
+        sameDay.setEmployeeId("EMP001");
+        sameDay.setBarcode("1234567890124");
+        sameDay.setEmployeeName("김테스트");
+        sameDay.setBoxNum(5);
+        sameDay.setGoodsName("라떼");
+        entityManager.persistAndFlush(sameDay);
+        entityManager.clear();
+
+        // When
+        List<OrderDaySummary> summary = orderingRepository.summarizeByDay("EMP001");
+
+        // Then
+        assertThat(summary).extracting(OrderDaySummary::getOrderingDay)
+                .containsExactly(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 1, 16), LocalDate.of(2024, 1, 15));
+        OrderDaySummary jan15 = summary.get(2);
+        assertThat(jan15.getLineCount()).isEqualTo(2L);
+        assertThat(jan15.getTotalBoxes()).isEqualTo(7L);
+        assertThat(jan15.getDistinctBarcodes()).isEqualTo(2L);
+        assertThat(orderingRepository.summarizeByDay("EMP999")).isEmpty();
+    }
+}
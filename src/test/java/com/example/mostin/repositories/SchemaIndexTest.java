@@ -0,0 +1,48 @@
+package com.example.mostin.repositories;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the Flyway schema gives every repository finder an index. Each statement is the SQL the finder's
+ * WHERE/ORDER BY boils down to.
+ */
+@DataJpaTest
+class SchemaIndexTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // CommuteRepository
+            "SELECT * FROM commute WHERE employee_id = 'EMP001' AND commute_day BETWEEN DATE '2024-01-01' AND DATE '2024-01-31'",
+            "SELECT * FROM commute WHERE employee_id = 'EMP001' AND commute_day = DATE '2024-01-15'",
+            "SELECT * FROM commute WHERE commute_day = DATE '2024-01-15'",
+            "SELECT * FROM commute WHERE employee_id = 'EMP001' AND employee_name = '김테스트' ORDER BY commute_day DESC, start_time DESC LIMIT 1",
+            // OrderingRepository
+            "SELECT * FROM ordering WHERE employee_id = 'EMP001' ORDER BY ordering_day DESC",
+            "SELECT * FROM ordering WHERE employee_id = 'EMP001' AND ordering_day = DATE '2024-01-15'",
+            // EmployeeRepository
+            "SELECT * FROM employee_md WHERE employee_id = 'EMP001'",
+            // GoodsRepository
+            "SELECT * FROM goods WHERE barcode = '8801000000001'",
+            // CommuteMonthlySummaryRepository
+            "SELECT * FROM commute_monthly_summary WHERE summary_month = '2024-01' ORDER BY employee_id"
+    })
+    void should_useIndex_when_explainingFinderQuery(String sql) {
+        // When
+        String plan = entityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN " + sql)
+                .getSingleResult()
+                .toString();
+
+        // Then - H2 reports a full scan as "tableScan"
+        assertThat(plan).doesNotContain("tableScan");
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.mostin.repositories;
+
+import com.example.mostin.models.Employee;
+import com.example.mostin.models.Goods;
+import com.example.mostin.models.WorkPlace;
+import com.example.mostin.services.HibernateCacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 2차 캐시는 커밋된 데이터만 담으므로 각 저장소 호출이 자체 트랜잭션으로 커밋되도록 테스트 트랜잭션 없이 실행
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(HibernateCacheStats.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private WorkPlaceRepository workPlaceRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private GoodsRepository goodsRepository;
+
+    @Autowired
+    private HibernateCacheStats hibernateCacheStats;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        WorkPlace workPlace = new WorkPlace();
+        workPlace.setWorkPlaceName("강남점");
+        workPlace.setLatitude(37.4979);
+        workPlace.setLongitude(127.0276);
+        workPlaceRepository.save(workPlace);
+
+        Employee employee = new Employee();
+        employee.setEmployeeId("EMP001");
+        employee.setEmployeeName("김테스트");
+        employee.setEmployeePwd("$2a$10$encodedPassword");
+        employeeRepository.save(employee);
+
+        Goods goods = new Goods();
+        goods.setBarcode("8801000000001");
+        goods.setGoodsName("생수 500ml");
+        goodsRepository.save(goods);
+
+        entityManagerFactory.getCache().evictAll();
+        // 쿼리 캐시는 밀리초 타임스탬프로 테이블 변경 여부를 비교하므로, 저장과 같은 시각에 캐시된 결과가 무효로 보이지 않도록 대기
+        Thread.sleep(5);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        workPlaceRepository.deleteAll();
+        employeeRepository.deleteAll();
+        goodsRepository.deleteAll();
+    }
+
+    @Test
+    void should_skipSql_when_workPlaceReadAgain() {
+        // Given
+        workPlaceRepository.findById("강남점");
+        long afterFirstRead = statistics.getPrepareStatementCount();
+
+        // When
+        WorkPlace second = workPlaceRepository.findById("강남점").orElseThrow();
+
+        // Then
+        assertThat(afterFirstRead).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(afterFirstRead);
+        assertThat(second.getLatitude()).isEqualTo(37.4979);
+        assertThat(statistics.getDomainDataRegionStatistics("work_place").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_serveFinderFromQueryCache_when_employeeLookedUpAgain() {
+        // Given
+        employeeRepository.findByEmployeeId("EMP001");
+        long afterFirstRead = statistics.getPrepareStatementCount();
+
+        // When
+        Employee second = employeeRepository.findByEmployeeId("EMP001").orElseThrow();
+
+        // Then - 쿼리 캐시로 키를, 엔티티 캐시로 행을 얻으므로 SQL 없음
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(afterFirstRead);
+        assertThat(second.getEmployeeName()).isEqualTo("김테스트");
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_serveBarcodeLookupFromQueryCache_when_repeated() {
+        // Given
+        goodsRepository.findByBarcode("8801000000001");
+        long afterFirstRead = statistics.getPrepareStatementCount();
+
+        // When
+        goodsRepository.findByBarcode("8801000000001");
+        goodsRepository.findByBarcode("8801000000001");
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(afterFirstRead);
+    }
+
+    @Test
+    void should_returnNewValues_when_cachedWorkPlaceUpdated() {
+        // Given
+        WorkPlace cached = workPlaceRepository.findById("강남점").orElseThrow();
+
+        // When
+        cached.setLatitude(37.5000);
+        workPlaceRepository.save(cached);
+
+        // Then
+        assertThat(workPlaceRepository.findById("강남점")).get()
+                .extracting(WorkPlace::getLatitude)
+                .isEqualTo(37.5000);
+    }
+
+    @Test
+    void should_requeryEmployee_when_employeeTableWritten() {
+        // Given
+        employeeRepository.findByEmployeeId("EMP001");
+        Employee other = new Employee();
+        other.setEmployeeId("EMP002");
+        other.setEmployeeName("이테스트");
+        other.setEmployeePwd("$2a$10$other");
+
+        // When - 같은 테이블에 쓰면 해당 테이블의 캐시된 쿼리 결과는 무효화
+        employeeRepository.save(other);
+        long beforeRead = statistics.getPrepareStatementCount();
+        employeeRepository.findByEmployeeId("EMP001");
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThan(beforeRead);
+    }
+
+    @Test
+    void should_reportRegionCounters_when_snapshotTaken() {
+        // Given
+        workPlaceRepository.findById("강남점");
+        workPlaceRepository.findById("강남점");
+
+        // When
+        HibernateCacheStats.Snapshot snapshot = hibernateCacheStats.snapshot();
+
+        // Then
+        assertThat(snapshot.enabled()).isTrue();
+        assertThat(snapshot.entities()).containsKeys("employee", "work_place", "goods");
+        assertThat(snapshot.entities().get("work_place").hits()).isEqualTo(1);
+        assertThat(snapshot.entities().get("work_place").misses()).isEqualTo(1);
+        assertThat(snapshot.entities().get("work_place").hitRate()).isEqualTo(0.5);
+    }
+}
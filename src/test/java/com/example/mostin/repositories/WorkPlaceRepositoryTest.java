@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.*;
 
@@ -673,4 +674,16 @@ class WorkPlaceRepositoryTest {
             assertThat(foundWorkPlace.get().getLongitude()).isCloseTo(entry.getValue()[1], within(0.001));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_returnWorkPlacesAfterCursor_when_pagingWithKeyset() {
+        // When
+        List<WorkPlace> first = workPlaceRepository.findAllByOrderByWorkPlaceNameAsc(PageRequest.of(0, 2));
+        List<WorkPlace> second = workPlaceRepository.findByWorkPlaceNameGreaterThanOrderByWorkPlaceNameAsc(
+                first.get(1).getWorkPlaceName(), PageRequest.of(0, 2));
+
+        // Then
+        assertThat(first).extracting(WorkPlace::getWorkPlaceName).containsExactly("강남지점", "본사");
+        assertThat(second).extracting(WorkPlace::getWorkPlaceName).containsExactly("부산지점");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Commute;
+import com.example.mostin.repositories.CommuteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class AttendanceBoardTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 15);
+
+    private CommuteRepository commuteRepository;
+    private AtomicReference<LocalDate> today;
+    private AttendanceBoard board;
+
+    @BeforeEach
+    void setUp() {
+        commuteRepository = mock(CommuteRepository.class);
+        when(commuteRepository.findByCommuteDay(DAY)).thenReturn(List.of(commute("EMP002", DAY, LocalTime.of(8, 40))));
+        today = new AtomicReference<>(DAY);
+        board = new AttendanceBoard(commuteRepository, today::get);
+        board.load();
+    }
+
+    @Test
+    void should_serveTodayFromMemory_when_loadedAtStartup() {
+        // When
+        board.find("EMP002");
+        board.find("EMP001");
+        board.all();
+
+        // Then
+        assertThat(board.find("EMP002")).get().extracting(Commute::getStartTime).isEqualTo(LocalTime.of(8, 40));
+        assertThat(board.find("EMP001")).isEmpty();
+        verify(commuteRepository, times(1)).findByCommuteDay(DAY);
+    }
+
+    @Test
+    void should_reflectClockInAndOut_when_recorded() {
+        // Given
+        Commute clockIn = commute("EMP001", DAY, LocalTime.of(8, 55));
+        board.record(clockIn);
+
+        // When
+        Commute clockOut = board.find("EMP001").orElseThrow();
+        clockOut.setEndTime(LocalTime.of(18, 0));
+
+        // Then - editing the returned copy does not touch the board until it is recorded
+        assertThat(board.find("EMP001")).get().extracting(Commute::getEndTime).isNull();
+        board.record(clockOut);
+        assertThat(board.find("EMP001")).get().extracting(Commute::getEndTime).isEqualTo(LocalTime.of(18, 0));
+        assertThat(board.all()).extracting(Commute::getEmployeeId).containsExactly("EMP001", "EMP002");
+    }
+
+    @Test
+    void should_dropRow_when_employeeRemoved() {
+        // When
+        board.remove("EMP002");
+
+        // Then
+        assertThat(board.find("EMP002")).isEmpty();
+        assertThat(board.all()).isEmpty();
+    }
+
+    @Test
+    void should_ignoreOtherDays_when_recording() {
+        // When
+        board.record(commute("EMP001", DAY.minusDays(1), LocalTime.of(22, 0)));
+
+        // Then
+        assertThat(board.find("EMP001")).isEmpty();
+    }
+
+    @Test
+    void should_startNewBoard_when_dayChanges() {
+        // Given
+        LocalDate nextDay = DAY.plusDays(1);
+        when(commuteRepository.findByCommuteDay(nextDay)).thenReturn(List.of());
+
+        // When - a request arrives after midnight before the scheduled rollover ran
+        today.set(nextDay);
+
+        // Then
+        assertThat(board.all()).isEmpty();
+        assertThat(board.currentDay()).isEqualTo(nextDay);
+        verify(commuteRepository).findByCommuteDay(nextDay);
+    }
+
+    private static Commute commute(String employeeId, LocalDate day, LocalTime startTime) {
+        Commute commute = new Commute();
+        commute.setEmployeeId(employeeId);
+        commute.setEmployeeName("직원" + employeeId);
+        commute.setCommuteDay(day);
+        commute.setStartTime(startTime);
+        return commute;
+    }
+}
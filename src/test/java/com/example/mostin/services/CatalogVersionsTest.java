@@ -0,0 +1,36 @@
+package com.example.mostin.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionsTest {
+
+    @Test
+    void should_advanceOnlyBumpedCatalog_when_written() {
+        // Given
+        CatalogVersions versions = new CatalogVersions();
+        long goods = versions.goods();
+        long workPlaces = versions.workPlaces();
+
+        // When
+        versions.bumpGoods();
+
+        // Then
+        assertThat(versions.goods()).isEqualTo(goods + 1);
+        assertThat(versions.workPlaces()).isEqualTo(workPlaces);
+    }
+
+    @Test
+    void should_matchIfNoneMatch_when_tagListedWeakOrWildcard() {
+        String etag = CatalogVersions.etag("goods", 42);
+
+        assertThat(etag).isEqualTo("\"goods-42\"");
+        assertThat(CatalogVersions.matches("\"goods-42\"", etag)).isTrue();
+        assertThat(CatalogVersions.matches("W/\"goods-42\"", etag)).isTrue();
+        assertThat(CatalogVersions.matches("\"goods-41\", \"goods-42\"", etag)).isTrue();
+        assertThat(CatalogVersions.matches("*", etag)).isTrue();
+        assertThat(CatalogVersions.matches("\"goods-41\"", etag)).isFalse();
+        assertThat(CatalogVersions.matches(null, etag)).isFalse();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Commute;
+import com.example.mostin.models.CommuteMonthlySummary;
+import com.example.mostin.models.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import(CommuteSummaryService.class)
+class CommuteSummaryServiceTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CommuteSummaryService commuteSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        employee("EMP001", "김테스트");
+        employee("EMP002", "이테스트");
+
+        // EMP001: 8시간 정시 출근, 9시간 지각, 12월 기록, 퇴근 전 기록
+        entityManager.persist(commute("EMP001", "김테스트", LocalDate.of(2024, 1, 15), LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        entityManager.persist(commute("EMP001", "김테스트", LocalDate.of(2024, 1, 16), LocalTime.of(9, 10), LocalTime.of(18, 10)));
+        entityManager.persist(commute("EMP001", "김테스트", LocalDate.of(2023, 12, 31), LocalTime.of(9, 0), LocalTime.of(18, 0)));
+        entityManager.persist(commute("EMP001", "김테스트", LocalDate.of(2024, 1, 17), LocalTime.of(8, 50), null));
+        // EMP002: 자정을 넘긴 근무
+        entityManager.persist(commute("EMP002", "이테스트", LocalDate.of(2024, 1, 15), LocalTime.of(22, 0), LocalTime.of(6, 0)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void should_aggregateClosedCommutesPerEmployee_when_rebuildingMonth() {
+        // When
+        int rebuilt = commuteSummaryService.rebuild(JANUARY);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertThat(rebuilt).isEqualTo(2);
+        assertThat(commuteSummaryService.findMonth(JANUARY))
+                .extracting(CommuteMonthlySummary::getEmployeeId, CommuteMonthlySummary::getDaysWorked,
+                        CommuteMonthlySummary::getTotalMinutes, CommuteMonthlySummary::getLateCount)
+                .containsExactly(
+                        tuple("EMP001", 2, 1020L, 1),
+                        tuple("EMP002", 1, 480L, 1));
+        assertThat(commuteSummaryService.find("EMP001", JANUARY)).get()
+                .extracting(CommuteMonthlySummary::getAverageMinutes).isEqualTo(510L);
+    }
+
+    @Test
+    void should_replaceExistingRows_when_rebuildingTwice() {
+        // Given
+        commuteSummaryService.rebuild(JANUARY);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int rebuilt = commuteSummaryService.rebuild(JANUARY);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertThat(rebuilt).isEqualTo(2);
+        assertThat(commuteSummaryService.findMonth(JANUARY)).hasSize(2);
+    }
+
+    @Test
+    void should_computeMonthOnce_when_firstClockOutHasNoSummary() {
+        // When - the 17th is closed while the month has no summary yet
+        commuteSummaryService.saveCommute(
+                commute("EMP001", "김테스트", LocalDate.of(2024, 1, 17), LocalTime.of(8, 50), LocalTime.of(17, 50)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        CommuteMonthlySummary summary = commuteSummaryService.find("EMP001", JANUARY).orElseThrow();
+        assertThat(summary.getDaysWorked()).isEqualTo(3);
+        assertThat(summary.getTotalMinutes()).isEqualTo(1020L + 540L);
+        assertThat(summary.getLateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_applyOnlyTheDifference_when_clockingOutAgain() {
+        // Given
+        commuteSummaryService.rebuild(JANUARY);
+        entityManager.flush();
+        entityManager.clear();
+        Commute reclosed = commute("EMP001", "김테스트", LocalDate.of(2024, 1, 15), LocalTime.of(9, 0), LocalTime.of(19, 0));
+
+        // When - 17:00 is corrected to 19:00
+        commuteSummaryService.saveCommute(reclosed);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        CommuteMonthlySummary summary = commuteSummaryService.find("EMP001", JANUARY).orElseThrow();
+        assertThat(summary.getDaysWorked()).isEqualTo(2);
+        assertThat(summary.getTotalMinutes()).isEqualTo(1020L + 120L);
+        assertThat(summary.getLateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_countDayOnceLikeRebuild_when_clockingInAndOutTwiceSameDay() {
+        // Given
+        LocalDate day = LocalDate.of(2024, 1, 18);
+        commuteSummaryService.rebuild(JANUARY);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When - in 09:00, out 12:00, in again 13:00, out 18:00
+        save(commute("EMP001", "김테스트", day, LocalTime.of(9, 0), null));
+        save(commute("EMP001", "김테스트", day, LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        save(commute("EMP001", "김테스트", day, LocalTime.of(13, 0), null));
+        CommuteMonthlySummary reopened = commuteSummaryService.find("EMP001", JANUARY).orElseThrow();
+        assertThat(reopened.getDaysWorked()).isEqualTo(2);
+        save(commute("EMP001", "김테스트", day, LocalTime.of(13, 0), LocalTime.of(18, 0)));
+
+        // Then - the row holds the second shift, so the day counts once with it
+        CommuteMonthlySummary incremental = commuteSummaryService.find("EMP001", JANUARY).orElseThrow();
+        assertThat(incremental.getDaysWorked()).isEqualTo(3);
+        assertThat(incremental.getTotalMinutes()).isEqualTo(1020L + 300L);
+        assertThat(incremental.getLateCount()).isEqualTo(2);
+
+        commuteSummaryService.rebuild(JANUARY);
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(commuteSummaryService.find("EMP001", JANUARY)).get()
+                .usingRecursiveComparison()
+                .isEqualTo(incremental);
+    }
+
+    @Test
+    void should_countOvernightShift_when_endTimeIsBeforeStart() {
+        // When & Then
+        assertThat(CommuteSummaryService.minutesWorked(LocalTime.of(22, 0), LocalTime.of(6, 0))).isEqualTo(480L);
+        assertThat(CommuteSummaryService.minutesWorked(LocalTime.of(9, 0), LocalTime.of(18, 0))).isEqualTo(540L);
+    }
+
+    // 요청마다 따로 저장되는 것처럼 영속성 컨텍스트를 비움
+    private void save(Commute commute) {
+        commuteSummaryService.saveCommute(commute);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void employee(String employeeId, String employeeName) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        employee.setEmployeeName(employeeName);
+        employee.setEmployeePwd("password");
+        entityManager.persist(employee);
+    }
+
+    private static Commute commute(String employeeId, String employeeName, LocalDate day, LocalTime start, LocalTime end) {
+        Commute commute = new Commute();
+        commute.setEmployeeId(employeeId);
+        commute.setEmployeeName(employeeName);
+        commute.setCommuteDay(day);
+        commute.setStartTime(start);
+        commute.setEndTime(end);
+        return commute;
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Commute;
+import com.example.mostin.models.CommuteId;
+import com.example.mostin.models.CommuteMonthlySummary;
+import com.example.mostin.models.Employee;
+import com.example.mostin.repositories.CommuteMonthlySummaryRepository;
+import com.example.mostin.repositories.CommuteRepository;
+import com.example.mostin.repositories.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 백그라운드 기록기는 자체 트랜잭션으로 커밋하므로 테스트 트랜잭션 없이 실행
+@DataJpaTest
+@Import(EmployeeDeletionService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommuteWriteBehindTest {
+
+    @Autowired
+    private CommuteRepository commuteRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CommuteMonthlySummaryRepository summaryRepository;
+
+    @Autowired
+    private EmployeeDeletionService employeeDeletionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path journalDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private CommuteWriteBehind writeBehind;
+    private AttendanceBoard attendanceBoard;
+    private IdempotencyCache idempotencyCache;
+
+    @BeforeEach
+    void setUp() {
+        attendanceBoard = new AttendanceBoard(commuteRepository, () -> LocalDate.of(2024, 1, 15));
+        idempotencyCache = new IdempotencyCache(600, 100);
+        Employee employee = new Employee();
+        employee.setEmployeeId("EMP001");
+        employee.setEmployeeName("김테스트");
+        employee.setEmployeePwd("password");
+        employeeRepository.save(employee);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+        summaryRepository.deleteAll();
+        commuteRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_acknowledgeFromJournalAndWriteOnFlush_when_clockInSubmitted() throws IOException {
+        // Given
+        writeBehind = start();
+
+        // When
+        writeBehind.submit(commute(LocalTime.of(8, 55)));
+
+        // Then - on disk and visible as pending, not yet in the table
+        assertThat(journalLines()).hasSize(1);
+        assertThat(writeBehind.pendingCount()).isEqualTo(1);
+        assertThat(commuteRepository.count()).isZero();
+
+        // When
+        writeBehind.flushNow();
+
+        // Then
+        assertThat(commuteRepository.findByEmployeeIdAndCommuteDay("EMP001", LocalDate.of(2024, 1, 15)))
+                .extracting(Commute::getStartTime)
+                .containsExactly(LocalTime.of(8, 55));
+        assertThat(writeBehind.pendingCount()).isZero();
+        assertThat(journalLines()).isEmpty();
+    }
+
+    @Test
+    void should_replayLeftoverSegment_when_startingAfterCrash() throws IOException {
+        // Given - a segment from a previous run with a torn last line
+        Files.writeString(journalDir.resolve("commute-000000000007.ndjson"),
+                objectMapper.writeValueAsString(commute(LocalTime.of(9, 1))) + "\n{\"commuteDay\":\"2024-01");
+
+        // When
+        writeBehind = start();
+
+        // Then
+        assertThat(commuteRepository.findByEmployeeIdAndCommuteDay("EMP001", LocalDate.of(2024, 1, 15)))
+                .extracting(Commute::getStartTime)
+                .containsExactly(LocalTime.of(9, 1));
+        assertThat(Files.exists(journalDir.resolve("commute-000000000007.ndjson"))).isFalse();
+
+        // And new clock-ins go to a later segment
+        writeBehind.submit(commute(LocalTime.of(9, 2)));
+        assertThat(Files.exists(journalDir.resolve("commute-000000000008.ndjson"))).isTrue();
+    }
+
+    @Test
+    void should_clearEndTimeLikeSave_when_reClockingInAfterClockOut() throws IOException {
+        // Given - the day's first commute is already closed
+        Commute closed = commute(LocalTime.of(9, 0));
+        closed.setEndTime(LocalTime.of(12, 0));
+        commuteRepository.save(closed);
+        writeBehind = start();
+
+        // When
+        writeBehind.submit(commute(LocalTime.of(13, 0)));
+        writeBehind.flushNow();
+
+        // Then
+        CommuteId id = new CommuteId();
+        id.setEmployeeId("EMP001");
+        id.setCommuteDay(LocalDate.of(2024, 1, 15));
+        assertThat(commuteRepository.findById(id))
+                .get()
+                .satisfies(row -> {
+                    assertThat(row.getStartTime()).isEqualTo(LocalTime.of(13, 0));
+                    assertThat(row.getEndTime()).isNull();
+                });
+        // the reopened day is taken back out of the month, as a synchronous save would do
+        assertThat(summaryRepository.findAll())
+                .singleElement()
+                .extracting(CommuteMonthlySummary::getDaysWorked)
+                .isEqualTo(0);
+    }
+
+    @Test
+    void should_flushOnlyWhenStillPending_when_clockOutNeedsTheRow() throws IOException {
+        // Given
+        writeBehind = start();
+        writeBehind.submit(commute(LocalTime.of(8, 55)));
+
+        // When
+        writeBehind.flushIfPending("EMP001", LocalDate.of(2024, 1, 14));
+
+        // Then - another day's key leaves the journal alone
+        assertThat(writeBehind.pendingCount()).isEqualTo(1);
+
+        // When
+        writeBehind.flushIfPending("EMP001", LocalDate.of(2024, 1, 15));
+
+        // Then
+        assertThat(writeBehind.pendingCount()).isZero();
+        assertThat(commuteRepository.findByEmployeeIdAndCommuteDay("EMP001", LocalDate.of(2024, 1, 15))).hasSize(1);
+    }
+
+    @Test
+    void should_rejectBeforeJournaling_when_employeeUnknown() throws IOException {
+        // Given
+        writeBehind = start();
+        Commute stranger = commute(LocalTime.of(9, 0));
+        stranger.setEmployeeId("EMP999");
+        Commute wrongName = commute(LocalTime.of(9, 0));
+        wrongName.setEmployeeName("다른이름");
+
+        // When & Then
+        assertThatThrownBy(() -> writeBehind.submit(stranger)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> writeBehind.submit(wrongName)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(journalLines()).isEmpty();
+        assertThat(writeBehind.pendingCount()).isZero();
+    }
+
+    @Test
+    void should_deadLetterRejectedRowAndWriteTheRest_when_segmentHasRowDatabaseRefuses() throws IOException {
+        // Given - a leftover segment whose second row has no matching employee
+        Commute orphan = commute(LocalTime.of(9, 5));
+        orphan.setEmployeeId("EMP999");
+        orphan.setEmployeeName("퇴사자");
+        Files.writeString(journalDir.resolve("commute-000000000003.ndjson"),
+                objectMapper.writeValueAsString(commute(LocalTime.of(9, 1))) + "\n"
+                        + objectMapper.writeValueAsString(orphan) + "\n");
+
+        // When - replay at startup must not fail
+        writeBehind = start();
+
+        // Then
+        assertThat(commuteRepository.findByEmployeeIdAndCommuteDay("EMP001", LocalDate.of(2024, 1, 15))).hasSize(1);
+        assertThat(commuteRepository.findByEmployeeIdAndCommuteDay("EMP999", LocalDate.of(2024, 1, 15))).isEmpty();
+        assertThat(Files.exists(journalDir.resolve("commute-000000000003.ndjson"))).isFalse();
+        assertThat(Files.readAllLines(journalDir.resolve(CommuteWriteBehind.DEAD_LETTER_FILE)))
+                .singleElement()
+                .satisfies(line -> assertThat(line).contains("EMP999"));
+    }
+
+    @Test
+    void should_withdrawBoardAndIdempotencyEntries_when_acknowledgedRowIsDeadLettered() throws IOException {
+        // Given - acknowledged like the controller does, then the employee disappears before the flush
+        writeBehind = start();
+        Commute saved = writeBehind.submit(commute(LocalTime.of(9, 0)));
+        attendanceBoard.record(saved);
+        idempotencyCache.put("clock-in:retry-1", "request", saved);
+        Commute otherDay = commute(LocalTime.of(9, 0));
+        otherDay.setCommuteDay(LocalDate.of(2024, 1, 14));
+        idempotencyCache.put("clock-in:other", "request", otherDay);
+        employeeRepository.deleteAll();
+
+        // When
+        writeBehind.flushNow();
+
+        // Then
+        assertThat(Files.readAllLines(journalDir.resolve(CommuteWriteBehind.DEAD_LETTER_FILE))).hasSize(1);
+        assertThat(attendanceBoard.find("EMP001")).isEmpty();
+        assertThat(idempotencyCache.get("clock-in:retry-1")).isNull();
+        assertThat(idempotencyCache.get("clock-in:other")).isNotNull();
+    }
+
+    @Test
+    void should_leaveNothingToDeadLetter_when_employeeDeletedWithJournaledClockIn() throws IOException {
+        // Given
+        writeBehind = start();
+        writeBehind.submit(commute(LocalTime.of(9, 0)));
+
+        // When - the controller flushes the employee's journaled rows before the bulk DELETEs
+        writeBehind.flushIfPending("EMP002");
+        assertThat(writeBehind.pendingCount()).isEqualTo(1);
+        writeBehind.flushIfPending("EMP001");
+        Optional<EmployeeDeletionService.Result> deleted = employeeDeletionService.delete("EMP001");
+        writeBehind.flushNow();
+
+        // Then
+        assertThat(deleted).get().extracting(EmployeeDeletionService.Result::commutes).isEqualTo(1);
+        assertThat(commuteRepository.count()).isZero();
+        assertThat(journalLines()).isEmpty();
+        assertThat(Files.exists(journalDir.resolve(CommuteWriteBehind.DEAD_LETTER_FILE))).isFalse();
+    }
+
+    private CommuteWriteBehind start() throws IOException {
+        // 주기 flush는 사실상 끄고 flushNow로만 반영
+        CommuteWriteBehind started = new CommuteWriteBehind(commuteRepository,
+                new EmployeeCache(employeeRepository, 100, 60), attendanceBoard, idempotencyCache,
+                new CommuteSummaryService(commuteRepository, summaryRepository, "09:00", 500), entityManager,
+                objectMapper, transactionManager, journalDir.toString(), 2, 3_600_000L);
+        started.start();
+        return started;
+    }
+
+    private List<String> journalLines() throws IOException {
+        try (var files = Files.list(journalDir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("commute-")).flatMap(path -> {
+                try {
+                    return Files.readAllLines(path).stream();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }).filter(line -> !line.isBlank()).toList();
+        }
+    }
+
+    private static Commute commute(LocalTime startTime) {
+        Commute commute = new Commute();
+        commute.setCommuteDay(LocalDate.of(2024, 1, 15));
+        commute.setEmployeeId("EMP001");
+        commute.setEmployeeName("김테스트");
+        commute.setWorkPlaceName("강남점");
+        commute.setStartTime(startTime);
+        return commute;
+    }
+}
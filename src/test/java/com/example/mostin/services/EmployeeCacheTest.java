@@ -0,0 +1,84 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Employee;
+import com.example.mostin.repositories.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class EmployeeCacheTest {
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeCache cache;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        employee = new Employee();
+        employee.setEmployeeId("EMP001");
+        employee.setEmployeeName("김테스트");
+        employee.setEmployeePwd("$2a$10$encodedPassword");
+        employee.setWorkPlaceName("강남점");
+        when(employeeRepository.findByEmployeeId("EMP001")).thenReturn(Optional.of(employee));
+        cache = new EmployeeCache(employeeRepository, 100, 300);
+    }
+
+    @Test
+    void should_loadOnceAndCountHits_when_sameIdReadRepeatedly() {
+        // When
+        cache.find("EMP001");
+        cache.find("EMP001");
+        Optional<EmployeeCache.Entry> third = cache.find("EMP001");
+
+        // Then
+        assertThat(third).get().extracting(entry -> entry.view().workPlaceName()).isEqualTo("강남점");
+        verify(employeeRepository, times(1)).findByEmployeeId("EMP001");
+        assertThat(cache.stats().hits()).isEqualTo(2);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+        assertThat(cache.stats().hitRate()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void should_keepFingerprintInsteadOfHash_when_employeeCached() {
+        // When
+        EmployeeCache.Entry entry = cache.find("EMP001").orElseThrow();
+
+        // Then
+        assertThat(entry.passwordFingerprint())
+                .isEqualTo(LoginTokenService.fingerprint("$2a$10$encodedPassword"))
+                .doesNotContain("$2a$");
+    }
+
+    @Test
+    void should_reload_when_invalidatedAfterWrite() {
+        // Given
+        cache.find("EMP001");
+        employee.setWorkPlaceName("홍대점");
+
+        // When
+        cache.invalidate("EMP001");
+
+        // Then
+        assertThat(cache.find("EMP001")).get().extracting(entry -> entry.view().workPlaceName()).isEqualTo("홍대점");
+        verify(employeeRepository, times(2)).findByEmployeeId("EMP001");
+    }
+
+    @Test
+    void should_notCacheMiss_when_employeeUnknown() {
+        // Given
+        when(employeeRepository.findByEmployeeId("NONE")).thenReturn(Optional.empty());
+
+        // When
+        cache.find("NONE");
+        cache.find("NONE");
+
+        // Then - 신규 등록 직후 바로 보이도록 없는 id는 저장하지 않음
+        verify(employeeRepository, times(2)).findByEmployeeId("NONE");
+        assertThat(cache.stats().size()).isZero();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Commute;
+import com.example.mostin.models.CommuteMonthlySummary;
+import com.example.mostin.models.Employee;
+import com.example.mostin.models.Ordering;
+import com.example.mostin.repositories.CommuteMonthlySummaryRepository;
+import com.example.mostin.repositories.CommuteRepository;
+import com.example.mostin.repositories.EmployeeRepository;
+import com.example.mostin.repositories.OrderingRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(EmployeeDeletionService.class)
+class EmployeeDeletionServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CommuteRepository commuteRepository;
+
+    @Autowired
+    private OrderingRepository orderingRepository;
+
+    @Autowired
+    private CommuteMonthlySummaryRepository commuteMonthlySummaryRepository;
+
+    @Autowired
+    private EmployeeDeletionService employeeDeletionService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        persistEmployeeWithHistory("EMP001", "김테스트", 30, 12);
+        persistEmployeeWithHistory("EMP002", "이테스트", 2, 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void should_deleteAllRowsWithoutLoadingCollections_when_employeeExists() {
+        // When
+        Optional<EmployeeDeletionService.Result> result = employeeDeletionService.delete("EMP001");
+        entityManager.clear();
+
+        // Then
+        assertThat(result).hasValueSatisfying(deleted -> {
+            assertThat(deleted.employeeName()).isEqualTo("김테스트");
+            assertThat(deleted.commutes()).isEqualTo(30);
+            assertThat(deleted.orders()).isEqualTo(12);
+            assertThat(deleted.monthlySummaries()).isEqualTo(1);
+            assertThat(deleted.employees()).isEqualTo(1);
+        });
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Commute.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Ordering.class.getName()).getLoadCount()).isZero();
+
+        assertThat(employeeRepository.findByEmployeeId("EMP001")).isEmpty();
+        assertThat(commuteRepository.findAll()).extracting(Commute::getEmployeeId).containsOnly("EMP002");
+        assertThat(orderingRepository.findAll()).extracting(Ordering::getEmployeeId).containsOnly("EMP002");
+        assertThat(commuteMonthlySummaryRepository.findAll())
+                .extracting(CommuteMonthlySummary::getEmployeeId).containsOnly("EMP002");
+    }
+
+    @Test
+    void should_returnEmptyAndDeleteNothing_when_employeeNotFound() {
+        // When
+        Optional<EmployeeDeletionService.Result> result = employeeDeletionService.delete("NONEXISTENT");
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(employeeRepository.count()).isEqualTo(2);
+        assertThat(commuteRepository.count()).isEqualTo(32);
+        assertThat(orderingRepository.count()).isEqualTo(13);
+    }
+
+    private void persistEmployeeWithHistory(String employeeId, String employeeName, int commutes, int orders) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        employee.setEmployeeName(employeeName);
+        employee.setEmployeePwd("password123");
+        entityManager.persist(employee);
+
+        LocalDate firstDay = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < commutes; i++) {
+            Commute commute = new Commute();
+            commute.setCommuteDay(firstDay.plusDays(i));
+            commute.setEmployeeId(employeeId);
+            commute.setEmployeeName(employeeName);
+            commute.setWorkPlaceName("강남점");
+            commute.setStartTime(LocalTime.of(9, 0));
+            commute.setEndTime(LocalTime.of(18, 0));
+            entityManager.persist(commute);
+        }
+        for (int i = 0; i < orders; i++) {
+            Ordering ordering = new Ordering();
+            ordering.setOrderingDay(firstDay);
+            ordering.setEmployeeId(employeeId);
+            ordering.setEmployeeName(employeeName);
+            ordering.setBarcode(String.format("88010000%05d", i));
+            ordering.setGoodsName("상품" + i);
+            ordering.setBoxNum(1);
+            entityManager.persist(ordering);
+        }
+
+        CommuteMonthlySummary summary = new CommuteMonthlySummary();
+        summary.setEmployeeId(employeeId);
+        summary.setSummaryMonth("2024-01");
+        summary.setEmployeeName(employeeName);
+        summary.setDaysWorked(commutes);
+        entityManager.persist(summary);
+    }
+}
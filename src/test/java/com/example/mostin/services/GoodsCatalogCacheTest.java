@@ -0,0 +1,97 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Goods;
+import com.example.mostin.repositories.GoodsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class GoodsCatalogCacheTest {
+
+    private GoodsRepository goodsRepository;
+    private GoodsCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        goodsRepository = mock(GoodsRepository.class);
+        when(goodsRepository.findAll()).thenReturn(List.of(
+                goods("8801000000001", "아메리카노"),
+                goods("8801000000002", "아이스티"),
+                goods("8801000000002", "아이스티 대용량"),
+                goods("8801000000003", "카푸치노")));
+        cache = new GoodsCatalogCache(goodsRepository);
+    }
+
+    @Test
+    void should_loadCatalogOnce_when_lookedUpRepeatedly() {
+        // When
+        cache.findByBarcode("8801000000001");
+        cache.findByBarcode("8801000000003");
+        cache.searchByNamePrefix("아", 10);
+
+        // Then
+        verify(goodsRepository, times(1)).findAll();
+        GoodsCatalogCache.Stats stats = cache.stats();
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.size()).isEqualTo(4);
+    }
+
+    @Test
+    void should_returnAllNamesForBarcode_when_barcodeSharedByGoods() {
+        // When
+        List<Goods> found = cache.findByBarcode("8801000000002");
+
+        // Then
+        assertThat(found).extracting(Goods::getGoodsName).containsExactly("아이스티", "아이스티 대용량");
+        assertThat(cache.findByBarcode("0000000000000")).isEmpty();
+    }
+
+    @Test
+    void should_returnNamesInOrder_when_searchingByPrefix() {
+        // When
+        List<Goods> found = cache.searchByNamePrefix("아이", 10);
+
+        // Then
+        assertThat(found).extracting(Goods::getGoodsName).containsExactly("아이스티", "아이스티 대용량");
+        assertThat(cache.searchByNamePrefix("아", 2)).hasSize(2);
+        assertThat(cache.searchByNamePrefix("라떼", 10)).isEmpty();
+    }
+
+    @Test
+    void should_reloadAndCountEviction_when_invalidated() {
+        // Given
+        cache.findByBarcode("8801000000001");
+
+        // When
+        cache.invalidate();
+        cache.findByBarcode("8801000000001");
+
+        // Then
+        verify(goodsRepository, times(2)).findAll();
+        GoodsCatalogCache.Stats stats = cache.stats();
+        assertThat(stats.evictions()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void should_notCountEviction_when_invalidatedBeforeFirstLoad() {
+        // When
+        cache.invalidate();
+
+        // Then
+        assertThat(cache.stats().evictions()).isZero();
+        verifyNoInteractions(goodsRepository);
+    }
+
+    private static Goods goods(String barcode, String goodsName) {
+        Goods goods = new Goods();
+        goods.setBarcode(barcode);
+        goods.setGoodsName(goodsName);
+        return goods;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Goods;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GoodsChangeLogTest {
+
+    private CatalogVersions catalogVersions;
+    private GoodsChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersions = new CatalogVersions();
+        changeLog = new GoodsChangeLog(catalogVersions, 3);
+    }
+
+    @Test
+    void should_returnUpsertsAndTombstonesAfterVersion_when_clientIsBehind() {
+        // Given
+        long start = catalogVersions.goods();
+        changeLog.recordUpsert(goods("8801", "아메리카노"));
+        long clientVersion = changeLog.recordUpsert(goods("8802", "라떼"));
+        changeLog.recordDelete(goods("8801", "아메리카노"));
+
+        // When
+        GoodsChangeLog.Changes fromStart = changeLog.changesSince(start);
+        GoodsChangeLog.Changes fromClient = changeLog.changesSince(clientVersion);
+
+        // Then
+        assertThat(fromStart.fullResync()).isFalse();
+        assertThat(fromStart.changes()).extracting(GoodsChangeLog.Change::barcode).containsExactly("8802", "8801");
+        assertThat(fromClient.changes()).singleElement()
+                .satisfies(change -> assertThat(change.type()).isEqualTo(GoodsChangeLog.ChangeType.DELETE));
+        assertThat(fromClient.version()).isEqualTo(catalogVersions.goods());
+    }
+
+    @Test
+    void should_returnNothing_when_clientIsCurrent() {
+        // Given
+        long current = changeLog.recordUpsert(goods("8801", "아메리카노"));
+
+        // When
+        GoodsChangeLog.Changes changes = changeLog.changesSince(current);
+
+        // Then
+        assertThat(changes.fullResync()).isFalse();
+        assertThat(changes.changes()).isEmpty();
+    }
+
+    @Test
+    void should_requireFullResync_when_versionOlderThanRetainedLog() {
+        // Given
+        long start = catalogVersions.goods();
+        for (int i = 0; i < 5; i++) {
+            changeLog.recordUpsert(goods("880" + i, "상품" + i));
+        }
+
+        // When
+        GoodsChangeLog.Changes stale = changeLog.changesSince(start);
+        GoodsChangeLog.Changes recent = changeLog.changesSince(catalogVersions.goods() - 2);
+
+        // Then
+        assertThat(stale.fullResync()).isTrue();
+        assertThat(stale.changes()).isEmpty();
+        assertThat(recent.fullResync()).isFalse();
+        assertThat(recent.changes()).hasSize(2);
+    }
+
+    @Test
+    void should_requireFullResyncOnlyBeforeIt_when_resyncRecorded() {
+        // Given
+        long before = changeLog.recordUpsert(goods("8801", "아메리카노"));
+        long resync = changeLog.recordResync();
+        changeLog.recordUpsert(goods("8802", "라떼"));
+
+        // When
+        GoodsChangeLog.Changes stale = changeLog.changesSince(before);
+        GoodsChangeLog.Changes afterResync = changeLog.changesSince(resync);
+
+        // Then
+        assertThat(stale.fullResync()).isTrue();
+        assertThat(afterResync.fullResync()).isFalse();
+        assertThat(afterResync.changes()).extracting(GoodsChangeLog.Change::barcode).containsExactly("8802");
+    }
+
+    @Test
+    void should_requireFullResync_when_versionFromFuture() {
+        assertThat(changeLog.changesSince(catalogVersions.goods() + 10).fullResync()).isTrue();
+    }
+
+    private static Goods goods(String barcode, String goodsName) {
+        Goods goods = new Goods();
+        goods.setBarcode(barcode);
+        goods.setGoodsName(goodsName);
+        return goods;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Goods;
+import com.example.mostin.repositories.GoodsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "mostin.goods.import.batch-size=2")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({GoodsImportService.class, GoodsCatalogCache.class, GoodsChangeLog.class, CatalogVersions.class})
+class GoodsImportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GoodsRepository goodsRepository;
+
+    @Autowired
+    private GoodsImportService goodsImportService;
+
+    @Autowired
+    private GoodsChangeLog goodsChangeLog;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        Goods existing = new Goods();
+        existing.setBarcode("8801000000001");
+        existing.setGoodsName("아메리카노");
+        entityManager.persistAndFlush(existing);
+        entityManager.clear();
+    }
+
+    @Test
+    void should_insertNewRowsAndCountSkips_when_importingJsonArray() {
+        // Given
+        long since = catalogVersions.goods();
+        String json = """
+                [
+                  {"barcode": "8801000000002", "goodsName": "라떼"},
+                  {"barcode": "8801000000002", "goodsName": "라떼"},
+                  {"barcode": "8801000000001", "goodsName": "아메리카노"},
+                  {"barcode": "8801000000003", "goodsName": "카푸치노"},
+                  {"barcode": "8801000000004", "goodsName": "바닐라라떼"},
+                  {"barcode": "", "goodsName": "이름만"}
+                ]
+                """;
+
+        // When
+        GoodsImportService.Result result = goodsImportService.importJson(stream(json));
+
+        // Then
+        assertThat(result).isEqualTo(new GoodsImportService.Result(3, 1, 1, 1));
+        assertThat(goodsRepository.count()).isEqualTo(4);
+        assertThat(goodsChangeLog.changesSince(since).fullResync()).isTrue();
+        assertThat(catalogVersions.goods()).isEqualTo(since + 1);
+    }
+
+    @Test
+    void should_countAlreadyPresent_when_repeatFallsInLaterChunk() {
+        // Given
+        String csv = "8801000000020,우유\n"
+                + "8801000000021,두유\n"
+                + "8801000000020,우유\n";
+
+        // When
+        GoodsImportService.Result result = goodsImportService.importCsv(stream(csv));
+
+        // Then
+        assertThat(result).isEqualTo(new GoodsImportService.Result(2, 1, 0, 0));
+    }
+
+    @Test
+    void should_parseHeaderQuotesAndBom_when_importingCsv() {
+        // Given
+        String csv = "\uFEFFbarcode,goodsName\n"
+                + "8801000000010,\"과자, 대용량\"\n"
+                + "\n"
+                + "8801000000011,초코우유\n"
+                + "8801000000001,아메리카노\n";
+
+        // When
+        GoodsImportService.Result result = goodsImportService.importCsv(stream(csv));
+
+        // Then
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.alreadyPresent()).isEqualTo(1);
+        assertThat(goodsRepository.findByBarcode("8801000000010"))
+                .extracting(Goods::getGoodsName)
+                .containsExactly("과자, 대용량");
+    }
+
+    @Test
+    void should_rejectImport_when_jsonIsNotAnArray() {
+        assertThatThrownBy(() -> goodsImportService.importJson(stream("{\"barcode\": \"1\"}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(goodsRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_rollBackImport_when_arrayHasNonObjectElement() {
+        // Given
+        String json = "[{\"barcode\": \"8801000000030\", \"goodsName\": \"녹차\"},"
+                + " {\"barcode\": \"8801000000031\", \"goodsName\": \"홍차\"},"
+                + " {\"barcode\": \"8801000000032\", \"goodsName\": \"보리차\"},"
+                + " \"8801000000033\"]";
+
+        // When & Then: 테스트 트랜잭션에 참여하므로 롤백 표시 여부로 확인한다
+        assertThatThrownBy(() -> goodsImportService.importJson(stream(json)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(transactionManager.getTransaction(null).isRollbackOnly()).isTrue();
+    }
+
+    @Test
+    void should_reportNothing_when_csvIsEmpty() {
+        // When
+        GoodsImportService.Result result = goodsImportService.importCsv(stream(""));
+
+        // Then
+        assertThat(result).isEqualTo(new GoodsImportService.Result(0, 0, 0, 0));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
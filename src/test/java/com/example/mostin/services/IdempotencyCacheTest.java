@@ -0,0 +1,98 @@
+package com.example.mostin.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyCacheTest {
+
+    private AtomicLong now;
+    private IdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        cache = new IdempotencyCache(60, 2, now::get);
+    }
+
+    @Test
+    void should_returnStoredResponse_when_keyRepeatedWithinTtl() {
+        // Given
+        cache.put("clock-in:a", "request", "response");
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        IdempotencyCache.Replay hit = cache.get("clock-in:a");
+        IdempotencyCache.Replay miss = cache.get("clock-in:b");
+
+        // Then
+        assertThat(hit.response()).isEqualTo("response");
+        assertThat(hit.matches("request")).isTrue();
+        assertThat(hit.matches("other request")).isFalse();
+        assertThat(miss).isNull();
+        assertThat(cache.stats()).isEqualTo(new IdempotencyCache.Stats(1, 1, 1));
+    }
+
+    @Test
+    void should_forgetEntry_when_ttlElapsed() {
+        // Given
+        cache.put("clock-in:a", "request", "response");
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        // Then
+        assertThat(cache.get("clock-in:a")).isNull();
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    void should_evictOldestEntry_when_capacityExceeded() {
+        // Given
+        cache.put("a", "request", 1);
+        cache.put("b", "request", 2);
+
+        // When
+        cache.put("c", "request", 3);
+
+        // Then
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b").response()).isEqualTo(2);
+        assertThat(cache.get("c").response()).isEqualTo(3);
+    }
+
+    @Test
+    void should_dropOnlyMatchingResponses_when_evictingByResponse() {
+        // Given
+        cache.put("a", "request", 1);
+        cache.put("b", "request", 2);
+
+        // When
+        int evicted = cache.evictIf(response -> response.equals(1));
+
+        // Then
+        assertThat(evicted).isEqualTo(1);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b").response()).isEqualTo(2);
+    }
+
+    @Test
+    void should_restartTtl_when_keyStoredAgain() {
+        // Given
+        cache.put("a", "request", 1);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        cache.put("b", "request", 2);
+
+        // When - "a" is refreshed, so it now expires after "b"
+        cache.put("a", "request", 10);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(40));
+
+        // Then
+        assertThat(cache.get("a").response()).isEqualTo(10);
+        assertThat(cache.get("b").response()).isEqualTo(2);
+    }
+}
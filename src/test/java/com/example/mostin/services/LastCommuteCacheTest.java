@@ -0,0 +1,127 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Commute;
+import com.example.mostin.repositories.CommuteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class LastCommuteCacheTest {
+
+    private CommuteRepository commuteRepository;
+    private LastCommuteCache cache;
+
+    @BeforeEach
+    void setUp() {
+        commuteRepository = mock(CommuteRepository.class);
+        when(commuteRepository.findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc("EMP001", "김테스트"))
+                .thenReturn(Optional.of(commute(LocalDate.of(2024, 1, 15), LocalTime.of(9, 0))));
+        cache = new LastCommuteCache(commuteRepository, 100);
+    }
+
+    @Test
+    void should_queryOnlyOnce_when_recentCommuteReadRepeatedly() {
+        // When
+        cache.find("EMP001", "김테스트");
+        Optional<Commute> second = cache.find("EMP001", "김테스트");
+
+        // Then
+        assertThat(second).get().extracting(Commute::getCommuteDay).isEqualTo(LocalDate.of(2024, 1, 15));
+        verify(commuteRepository, times(1))
+                .findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc("EMP001", "김테스트");
+    }
+
+    @Test
+    void should_movePointer_when_newerCommuteRecorded() {
+        // Given
+        cache.find("EMP001", "김테스트");
+
+        // When
+        cache.record(commute(LocalDate.of(2024, 1, 16), LocalTime.of(8, 55)));
+        cache.record(commute(LocalDate.of(2024, 1, 10), LocalTime.of(9, 0)));
+
+        // Then - the back-dated clock-in does not replace the newer one
+        assertThat(cache.find("EMP001", "김테스트")).get()
+                .extracting(Commute::getCommuteDay).isEqualTo(LocalDate.of(2024, 1, 16));
+    }
+
+    @Test
+    void should_keepNewerDatabaseRow_when_backDatedCommuteRecordedBeforeFirstRead() {
+        // When
+        cache.record(commute(LocalDate.of(2023, 12, 1), LocalTime.of(9, 0)));
+
+        // Then
+        assertThat(cache.find("EMP001", "김테스트")).get()
+                .extracting(Commute::getCommuteDay).isEqualTo(LocalDate.of(2024, 1, 15));
+    }
+
+    @Test
+    void should_notQuery_when_recordingUncachedEmployee() {
+        // When
+        cache.record(commute(LocalDate.of(2024, 1, 16), LocalTime.of(8, 55)));
+
+        // Then
+        verifyNoInteractions(commuteRepository);
+    }
+
+    @Test
+    void should_serveRecordedCommute_when_readBeforeItReachesDatabase() {
+        // Given - write-behind: the database still only has the older row
+        cache.record(commute(LocalDate.of(2024, 1, 16), LocalTime.of(8, 55)));
+
+        // When
+        Optional<Commute> recent = cache.find("EMP001", "김테스트");
+
+        // Then
+        assertThat(recent).get().extracting(Commute::getCommuteDay).isEqualTo(LocalDate.of(2024, 1, 16));
+        verify(commuteRepository, times(1))
+                .findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc("EMP001", "김테스트");
+    }
+
+    @Test
+    void should_cacheRecordedCommute_when_employeeHasNoStoredCommutes() {
+        // Given
+        when(commuteRepository.findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc("EMP002", "이테스트"))
+                .thenReturn(Optional.empty());
+        Commute first = commute(LocalDate.of(2024, 1, 16), LocalTime.of(8, 55));
+        first.setEmployeeId("EMP002");
+        first.setEmployeeName("이테스트");
+
+        // When
+        cache.record(first);
+
+        // Then
+        assertThat(cache.find("EMP002", "이테스트")).get()
+                .extracting(Commute::getStartTime).isEqualTo(LocalTime.of(8, 55));
+    }
+
+    @Test
+    void should_returnEmptyWithoutCaching_when_employeeHasNoCommutes() {
+        // Given
+        when(commuteRepository.findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc("EMP002", "이테스트"))
+                .thenReturn(Optional.empty());
+
+        // When
+        cache.find("EMP002", "이테스트");
+        cache.find("EMP002", "이테스트");
+
+        // Then
+        verify(commuteRepository, times(2))
+                .findTopByEmployeeIdAndEmployeeNameOrderByCommuteDayDescStartTimeDesc("EMP002", "이테스트");
+    }
+
+    private static Commute commute(LocalDate day, LocalTime startTime) {
+        Commute commute = new Commute();
+        commute.setEmployeeId("EMP001");
+        commute.setEmployeeName("김테스트");
+        commute.setCommuteDay(day);
+        commute.setStartTime(startTime);
+        return commute;
+    }
+}
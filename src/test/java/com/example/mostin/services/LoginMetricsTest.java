@@ -0,0 +1,43 @@
+package com.example.mostin.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginMetricsTest {
+
+    @Test
+    void should_reportCountAverageAndMaxPerKind_when_loginsRecorded() {
+        // Given
+        LoginMetrics metrics = new LoginMetrics();
+
+        // When
+        metrics.record(LoginMetrics.Kind.PASSWORD, 80_000_000L);
+        metrics.record(LoginMetrics.Kind.PASSWORD, 60_000_000L);
+        metrics.record(LoginMetrics.Kind.TOKEN, 20_000L);
+
+        // Then
+        LoginMetrics.Snapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.logins().get(LoginMetrics.Kind.PASSWORD))
+                .isEqualTo(new LoginMetrics.Stats(2, 70_000, 80_000, 140));
+        assertThat(snapshot.logins().get(LoginMetrics.Kind.TOKEN))
+                .isEqualTo(new LoginMetrics.Stats(1, 20, 20, 0));
+    }
+
+    @Test
+    void should_advanceClock_when_threadDoesWork() {
+        // Given
+        LoginMetrics metrics = new LoginMetrics();
+        long started = metrics.now();
+
+        // When
+        long sum = 0;
+        for (int i = 0; i < 5_000_000; i++) {
+            sum += i % 7;
+        }
+
+        // Then
+        assertThat(sum).isPositive();
+        assertThat(metrics.now() - started).isPositive();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginTokenServiceTest {
+
+    private AtomicLong now;
+    private LoginTokenService tokens;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_700_000_000L);
+        tokens = new LoginTokenService("test-secret", 60, now::get);
+        employee = new Employee();
+        employee.setEmployeeId("EMP001");
+        employee.setEmployeePwd("$2a$10$encodedPassword");
+    }
+
+    @Test
+    void should_acceptToken_when_issuedForCurrentPassword() {
+        // Given
+        String token = tokens.issue(employee);
+
+        // When
+        var claims = tokens.verify(token);
+
+        // Then
+        assertThat(claims).get()
+                .extracting(LoginTokenService.Claims::employeeId)
+                .isEqualTo("EMP001");
+        assertThat(tokens.isCurrent(claims.get(), employee)).isTrue();
+    }
+
+    @Test
+    void should_rejectToken_when_expired() {
+        // Given
+        String token = tokens.issue(employee);
+
+        // When
+        now.addAndGet(60);
+
+        // Then
+        assertThat(tokens.verify(token)).isEmpty();
+    }
+
+    @Test
+    void should_rejectToken_when_payloadTampered() {
+        // Given
+        String[] parts = tokens.issue(employee).split("\\.");
+        String forged = parts[0] + "." + (Long.parseLong(parts[1]) + 3600) + "." + parts[2] + "." + parts[3];
+
+        // When & Then
+        assertThat(tokens.verify(forged)).isEmpty();
+        assertThat(tokens.verify("not-a-token")).isEmpty();
+    }
+
+    @Test
+    void should_rejectToken_when_signedWithOtherSecret() {
+        // Given
+        String token = new LoginTokenService("other-secret", 60, now::get).issue(employee);
+
+        // When & Then
+        assertThat(tokens.verify(token)).isEmpty();
+    }
+
+    @Test
+    void should_notMatchEmployee_when_passwordChangedAfterIssue() {
+        // Given
+        var claims = tokens.verify(tokens.issue(employee)).orElseThrow();
+
+        // When
+        employee.setEmployeePwd("$2a$10$changedPassword");
+
+        // Then
+        assertThat(tokens.isCurrent(claims, employee)).isFalse();
+    }
+}
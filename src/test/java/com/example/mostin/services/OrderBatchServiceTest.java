@@ -0,0 +1,95 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.Employee;
+import com.example.mostin.models.Ordering;
+import com.example.mostin.repositories.OrderingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(OrderBatchService.class)
+class OrderBatchServiceTest {
+
+    private static final LocalDate ORDER_DAY = LocalDate.of(2024, 3, 4);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderingRepository orderingRepository;
+
+    @Autowired
+    private OrderBatchService orderBatchService;
+
+    @BeforeEach
+    void setUp() {
+        Employee employee = new Employee();
+        employee.setEmployeeId("EMP001");
+        employee.setEmployeeName("김테스트");
+        employee.setEmployeePwd("password123");
+        entityManager.persistAndFlush(employee);
+
+        Ordering earlier = new Ordering();
+        earlier.setOrderingDay(ORDER_DAY);
+        earlier.setEmployeeId("EMP001");
+        earlier.setEmployeeName("김테스트");
+        earlier.setBarcode("8801000000001");
+        earlier.setGoodsName("아메리카노");
+        earlier.setBoxNum(1);
+        entityManager.persistAndFlush(earlier);
+        entityManager.clear();
+    }
+
+    @Test
+    void should_writeValidLinesAndReportEachLine_when_sheetSubmitted() {
+        // Given
+        OrderBatchService.OrderSheet sheet = new OrderBatchService.OrderSheet("EMP001", "김테스트", Arrays.asList(
+                new OrderBatchService.OrderLine("8801000000001", "아메리카노", 4),
+                new OrderBatchService.OrderLine("8801000000002", "라떼", 2),
+                new OrderBatchService.OrderLine("8801000000002", "라떼", 3),
+                new OrderBatchService.OrderLine("8801000000003", "카푸치노", 0),
+                new OrderBatchService.OrderLine(null, "바코드없음", 1)));
+
+        // When
+        OrderBatchService.Result result = orderBatchService.submit(sheet, ORDER_DAY);
+        entityManager.clear();
+
+        // Then
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(3);
+        assertThat(result.lines()).extracting(OrderBatchService.LineResult::status).containsExactly(
+                OrderBatchService.LineStatus.UPDATED,
+                OrderBatchService.LineStatus.CREATED,
+                OrderBatchService.LineStatus.REJECTED,
+                OrderBatchService.LineStatus.REJECTED,
+                OrderBatchService.LineStatus.REJECTED);
+
+        List<Ordering> stored = orderingRepository.findByEmployeeIdAndOrderingDay("EMP001", ORDER_DAY);
+        assertThat(stored).hasSize(2);
+        assertThat(stored).filteredOn(o -> o.getBarcode().equals("8801000000001"))
+                .singleElement()
+                .satisfies(o -> assertThat(o.getBoxNum()).isEqualTo(4));
+    }
+
+    @Test
+    void should_rejectWholeSheet_when_employeeMissingOrNoLines() {
+        assertThatThrownBy(() -> orderBatchService.submit(
+                new OrderBatchService.OrderSheet(null, "김테스트", List.of(new OrderBatchService.OrderLine("1", "A", 1))), ORDER_DAY))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderBatchService.submit(
+                new OrderBatchService.OrderSheet("EMP001", "김테스트", List.of()), ORDER_DAY))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.mostin.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService hashing;
+
+    @AfterEach
+    void tearDown() {
+        if (hashing != null) {
+            hashing.shutdown();
+        }
+    }
+
+    @Test
+    void should_returnEncoderResult_when_poolHasCapacity() {
+        // Given
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        hashing = new PasswordHashingService(encoder, 2, 4, 5_000, 1);
+
+        // When
+        String encoded = hashing.encode("secret");
+
+        // Then
+        assertThat(hashing.matches("secret", encoded)).isTrue();
+        assertThat(hashing.matches("other", encoded)).isFalse();
+        assertThat(hashing.stats().completed()).isEqualTo(3);
+        assertThat(hashing.stats().poolSize()).isEqualTo(2);
+    }
+
+    @Test
+    void should_rejectWithRetryAfter_when_queueFull() throws Exception {
+        // Given - one worker busy and one request queued
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder encoder = mock(BCryptPasswordEncoder.class);
+        when(encoder.matches("slow", "hash")).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+        hashing = new PasswordHashingService(encoder, 1, 1, 5_000, 3);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> hashing.matches("slow", "hash"));
+        awaitStats(1, 0);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> hashing.matches("slow", "hash"));
+        awaitStats(1, 1);
+
+        // When & Then
+        assertThatThrownBy(() -> hashing.matches("slow", "hash"))
+                .isInstanceOf(PasswordHashingService.SaturatedException.class)
+                .extracting("retryAfterSeconds")
+                .isEqualTo(3);
+        assertThat(hashing.stats().rejected()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void should_giveUp_when_resultNotReadyWithinTimeout() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder encoder = mock(BCryptPasswordEncoder.class);
+        when(encoder.encode("slow")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        hashing = new PasswordHashingService(encoder, 1, 1, 50, 1);
+
+        // When & Then
+        assertThatThrownBy(() -> hashing.encode("slow"))
+                .isInstanceOf(PasswordHashingService.SaturatedException.class);
+        release.countDown();
+    }
+
+    private void awaitStats(int active, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            PasswordHashingService.Stats stats = hashing.stats();
+            if (stats.active() == active && stats.queueDepth() == queued) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("pool did not reach active=" + active + " queued=" + queued);
+    }
+}
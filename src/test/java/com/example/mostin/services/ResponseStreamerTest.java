@@ -0,0 +1,84 @@
+package com.example.mostin.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ResponseStreamerTest {
+
+    private EntityManager entityManager;
+    private ResponseStreamer responseStreamer;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        responseStreamer = new ResponseStreamer(new ObjectMapper(), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(responseStreamer, "entityManager", entityManager);
+    }
+
+    @Test
+    void should_writeHeaderAndEscapedRows_when_streamingCsv() throws Exception {
+        // Given
+        List<String> first = Arrays.asList("EMP001", "김테스트", null);
+        List<String> second = Arrays.asList("EMP002", "강남점, 2층", "say \"hi\"");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        responseStreamer.csv(() -> Stream.of(first, second), List.of("employeeId", "employeeName", "note"), row -> row)
+                .writeTo(out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "employeeId,employeeName,note\r\n" +
+                "EMP001,김테스트,\r\n" +
+                "EMP002,\"강남점, 2층\",\"say \"\"hi\"\"\"\r\n");
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void should_writeOneJsonObjectPerLine_when_streamingNdjson() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        responseStreamer.ndjson(() -> Stream.of(Map.of("id", 1), Map.of("id", 2))).writeTo(out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+    }
+
+    @Test
+    void should_quoteOnlyWhenNeeded_when_formattingCsvField() {
+        assertThat(ResponseStreamer.csvField("plain")).isEqualTo("plain");
+        assertThat(ResponseStreamer.csvField("a,b")).isEqualTo("\"a,b\"");
+        assertThat(ResponseStreamer.csvField("line\nbreak")).isEqualTo("\"line\nbreak\"");
+    }
+
+    @Test
+    void should_prefixFormulaTextButNotNumbers_when_streamingCsv() throws Exception {
+        // Given
+        List<Object> row = Arrays.asList("=HYPERLINK(\"http://x\",\"y\")", "+8210", "-1", "@SUM(A1)", "김=테스트", -5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        responseStreamer.csv(() -> Stream.of(row), List.of("a", "b", "c", "d", "e", "f"), r -> r).writeTo(out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith(
+                "\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",'+8210,'-1,'@SUM(A1),김=테스트,-5\r\n");
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.WorkPlace;
+import com.example.mostin.repositories.WorkPlaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.*;
+
+class WorkPlaceLocatorTest {
+
+    private WorkPlaceRegistry workPlaceRegistry;
+    private WorkPlace gangnam;
+
+    @BeforeEach
+    void setUp() {
+        WorkPlaceRepository workPlaceRepository = mock(WorkPlaceRepository.class);
+        gangnam = workPlace("강남점", 37.4979, 127.0276);
+        when(workPlaceRepository.findAll()).thenReturn(List.of(gangnam));
+        workPlaceRegistry = new WorkPlaceRegistry(workPlaceRepository, new CatalogVersions());
+        workPlaceRegistry.load();
+    }
+
+    @Test
+    void should_measureDistanceToWorkPlace_when_registryLoaded() {
+        // Given
+        WorkPlaceLocator locator = new WorkPlaceLocator(workPlaceRegistry, 150);
+
+        // When & Then - 약 0.001도 북쪽 (~111m)
+        assertThat(locator.geofenceEnabled()).isTrue();
+        assertThat(locator.distanceTo("강남점", 37.4989, 127.0276).getAsDouble()).isCloseTo(111, within(1.0));
+        assertThat(locator.distanceTo("없는점", 37.4989, 127.0276)).isEmpty();
+    }
+
+    @Test
+    void should_seeNewWorkPlace_when_addedToRegistry() {
+        // Given
+        WorkPlaceLocator locator = new WorkPlaceLocator(workPlaceRegistry, 0);
+        WorkPlace hongdae = workPlace("홍대점", 37.5563, 126.9236);
+
+        // When
+        workPlaceRegistry.put(hongdae);
+
+        // Then
+        assertThat(locator.geofenceEnabled()).isFalse();
+        assertThat(locator.nearest(37.55, 126.92, 1))
+                .extracting(neighbor -> neighbor.workPlace().getWorkPlaceName())
+                .containsExactly("홍대점");
+    }
+
+    private static WorkPlace workPlace(String name, double latitude, double longitude) {
+        WorkPlace workPlace = new WorkPlace();
+        workPlace.setWorkPlaceName(name);
+        workPlace.setLatitude(latitude);
+        workPlace.setLongitude(longitude);
+        return workPlace;
+    }
+}
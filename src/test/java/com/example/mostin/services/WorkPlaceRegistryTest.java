@@ -0,0 +1,77 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.WorkPlace;
+import com.example.mostin.repositories.WorkPlaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class WorkPlaceRegistryTest {
+
+    private WorkPlaceRepository workPlaceRepository;
+    private WorkPlaceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        workPlaceRepository = mock(WorkPlaceRepository.class);
+        when(workPlaceRepository.findAll()).thenReturn(List.of(workPlace("강남점", 37.4979)));
+        registry = new WorkPlaceRegistry(workPlaceRepository, new CatalogVersions());
+        registry.load();
+    }
+
+    @Test
+    void should_keepOldSnapshotIntact_when_workPlaceAdded() {
+        // Given
+        WorkPlaceRegistry.Snapshot before = registry.snapshot();
+
+        // When
+        WorkPlaceRegistry.Snapshot after = registry.put(workPlace("홍대점", 37.5563));
+
+        // Then - 이미 읽어 간 스냅샷은 바뀌지 않음
+        assertThat(before.workPlaces()).extracting(WorkPlace::getWorkPlaceName).containsExactly("강남점");
+        assertThat(after.workPlaces()).extracting(WorkPlace::getWorkPlaceName).containsExactly("강남점", "홍대점");
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(registry.snapshot()).isSameAs(after);
+        verify(workPlaceRepository, times(1)).findAll();
+    }
+
+    @Test
+    void should_replaceInPlace_when_existingWorkPlaceSavedAgain() {
+        // Given
+        WorkPlace moved = workPlace("강남점", 37.5000);
+
+        // When
+        registry.put(moved);
+        moved.setLatitude(0);
+
+        // Then - 호출자가 엔티티를 바꿔도 스냅샷에는 영향 없음
+        assertThat(registry.snapshot().workPlaces()).hasSize(1);
+        assertThat(registry.snapshot().find("강남점")).get()
+                .extracting(WorkPlace::getLatitude)
+                .isEqualTo(37.5000);
+    }
+
+    @Test
+    void should_ignoreWorkPlace_when_nameMissing() {
+        // Given
+        long version = registry.snapshot().version();
+
+        // When
+        registry.put(new WorkPlace());
+
+        // Then
+        assertThat(registry.snapshot().version()).isEqualTo(version);
+    }
+
+    private static WorkPlace workPlace(String name, double latitude) {
+        WorkPlace workPlace = new WorkPlace();
+        workPlace.setWorkPlaceName(name);
+        workPlace.setLatitude(latitude);
+        workPlace.setLongitude(127.0);
+        return workPlace;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.mostin.services;
+
+import com.example.mostin.models.WorkPlace;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class WorkPlaceSpatialIndexTest {
+
+    @Test
+    void should_matchLinearScan_when_queryingRandomPoints() {
+        // Given - 전국에 흩어진 가상 매장 2만 곳
+        Random random = new Random(42);
+        List<WorkPlace> sites = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            sites.add(workPlace("site-" + i, 33.0 + random.nextDouble() * 5.5, 125.0 + random.nextDouble() * 4.5));
+        }
+        WorkPlaceSpatialIndex index = WorkPlaceSpatialIndex.build(sites);
+
+        for (int q = 0; q < 200; q++) {
+            double lat = 32.5 + random.nextDouble() * 6.5;
+            double lon = 124.5 + random.nextDouble() * 5.5;
+
+            // When
+            List<WorkPlaceSpatialIndex.Neighbor> fromIndex = index.nearest(lat, lon, 5);
+
+            // Then
+            assertThat(fromIndex)
+                    .extracting(neighbor -> neighbor.workPlace().getWorkPlaceName())
+                    .containsExactlyElementsOf(WorkPlaceSpatialIndex.nearestByScan(sites, lat, lon, 5).stream()
+                            .map(neighbor -> neighbor.workPlace().getWorkPlaceName())
+                            .toList());
+        }
+    }
+
+    @Test
+    void should_matchLinearScanQuickly_when_queryFarOutsideSites() {
+        // Given
+        Random random = new Random(7);
+        List<WorkPlace> sites = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            sites.add(workPlace("site-" + i, 33.0 + random.nextDouble() * 5.5, 125.0 + random.nextDouble() * 4.5));
+        }
+        WorkPlaceSpatialIndex index = WorkPlaceSpatialIndex.build(sites);
+        double[][] queries = {{0, 0}, {-60, -170}, {89.9, 127}, {37.5, 179.9}, {-33.9, 151.2}};
+
+        // When & Then - 사이트 영역 밖 먼 지점도 영역 크기만큼만 탐색
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int repeat = 0; repeat < 200; repeat++) {
+                for (double[] query : queries) {
+                    index.nearest(query[0], query[1], 3);
+                }
+            }
+        });
+        for (double[] query : queries) {
+            assertThat(index.nearest(query[0], query[1], 3))
+                    .extracting(neighbor -> neighbor.workPlace().getWorkPlaceName())
+                    .containsExactlyElementsOf(WorkPlaceSpatialIndex.nearestByScan(sites, query[0], query[1], 3).stream()
+                            .map(neighbor -> neighbor.workPlace().getWorkPlaceName())
+                            .toList());
+        }
+    }
+
+    @Test
+    void should_findDistantSite_when_neighbourhoodEmpty() {
+        // Given - 서울과 부산 두 곳뿐
+        WorkPlace seoul = workPlace("Seoul", 37.5665, 126.9780);
+        WorkPlace busan = workPlace("Busan", 35.1796, 129.0756);
+        WorkPlaceSpatialIndex index = WorkPlaceSpatialIndex.build(List.of(seoul, busan));
+
+        // When
+        List<WorkPlaceSpatialIndex.Neighbor> nearest = index.nearest(35.0, 129.0, 2);
+
+        // Then
+        assertThat(nearest).extracting(WorkPlaceSpatialIndex.Neighbor::workPlace).containsExactly(busan, seoul);
+        assertThat(nearest.get(0).distanceMeters()).isCloseTo(21_100, within(500.0));
+    }
+
+    @Test
+    void should_returnEmpty_when_indexHasNoSites() {
+        // When & Then
+        assertThat(WorkPlaceSpatialIndex.build(List.of()).nearest(37.5, 127.0, 3)).isEmpty();
+    }
+
+    @Test
+    void should_computeKnownDistance_when_usingHaversine() {
+        // When - 서울시청 ~ 부산시청 직선거리 약 325km
+        double distance = WorkPlaceSpatialIndex.distanceMeters(37.5665, 126.9780, 35.1796, 129.0756);
+
+        // Then
+        assertThat(distance).isCloseTo(325_000, within(3_000.0));
+    }
+
+    private static WorkPlace workPlace(String name, double latitude, double longitude) {
+        WorkPlace workPlace = new WorkPlace();
+        workPlace.setWorkPlaceName(name);
+        workPlace.setLatitude(latitude);
+        workPlace.setLongitude(longitude);
+        return workPlace;
+    }
+}